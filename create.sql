@@ -9,9 +9,15 @@ CREATE TABLE PRODUCT
     PRICE       DECIMAL(10, 2) NOT NULL,
     AVAILABLE   BOOLEAN        NOT NULL,
     THUMBNAIL   VARCHAR(255),
-    CATEGORY_ID BIGINT         NOT NULL
+    CATEGORY_ID BIGINT         NOT NULL,
+    VERSION     BIGINT         DEFAULT 0 NOT NULL
 );
 
+CREATE INDEX IF NOT EXISTS IDX_PRODUCT_CATEGORY_PRICE ON PRODUCT (CATEGORY_ID, PRICE);
+CREATE INDEX IF NOT EXISTS IDX_PRODUCT_BRAND_PRICE ON PRODUCT (BRAND, PRICE);
+CREATE INDEX IF NOT EXISTS IDX_PRODUCT_AVAILABLE_PRICE ON PRODUCT (AVAILABLE, PRICE);
+CREATE INDEX IF NOT EXISTS IDX_PRODUCT_PRICE ON PRODUCT (PRICE);
+
 INSERT INTO PRODUCT (NAME, DESCRIPTION, BRAND, PRICE, AVAILABLE, THUMBNAIL, CATEGORY_ID)
 VALUES ('Ukulele Kalani Concierto UK-23 TBL Aguamarina',
         'El Ukelele es un instrumento musical de cuerda pulsada, similar a una guitarra de pequeño tamaño, originario de Hawái y popular en todo el mundo, el ukelele emite un sonido más cálido; es por eso que muchos iniciados prefieren tamaños de ukelele más pequeños, ya que estos conservan mejor ese tono brillante y exótico tan característico del ukelele.',
@@ -0,0 +1,95 @@
+package me.davidgarmo.soundseeker.product.benchmark;
+
+import me.davidgarmo.soundseeker.product.config.DBConnection;
+import me.davidgarmo.soundseeker.product.persistence.dao.Page;
+import me.davidgarmo.soundseeker.product.persistence.entity.Product;
+import me.davidgarmo.soundseeker.product.persistence.impl.ProductDaoH2;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductDaoBenchmark {
+    private static final int SEEDED_PRODUCTS = 1_000;
+
+    @Param({"file", "memory"})
+    public String storage;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final ProductDaoH2 productDao = new ProductDaoH2();
+    private Path databaseDir;
+    private List<Long> productIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        databaseDir = Files.createTempDirectory("soundseeker-jmh");
+        System.setProperty(DBConnection.URL_PROPERTY, storage.equals("memory")
+                ? "jdbc:h2:mem:soundseeker-jmh;DB_CLOSE_DELAY=-1"
+                : "jdbc:h2:" + databaseDir.resolve("soundseeker-product").toAbsolutePath());
+
+        List<Product> seed = new ArrayList<>(SEEDED_PRODUCTS);
+        for (int i = 0; i < SEEDED_PRODUCTS; i++) {
+            seed.add(newProduct());
+        }
+        productIds = productDao.saveAll(seed).stream().map(Product::getId).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        DBConnection.closePool();
+        System.clearProperty(DBConnection.URL_PROPERTY);
+        try (Stream<Path> files = Files.walk(databaseDir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private Product newProduct() {
+        long n = sequence.incrementAndGet();
+        return new Product("Benchmark " + n, "Producto sembrado para medir la capa de persistencia, número " + n + ".",
+                "Yamaha", 100.0 + n % 900, n % 3 != 0, "/uploads/ab/cd/" + Long.toHexString(n * 7919) + ".webp", n % 8 + 1);
+    }
+
+    private Long randomId() {
+        return productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
+    }
+
+    @Benchmark
+    public Product findById() {
+        return productDao.findById(randomId());
+    }
+
+    @Benchmark
+    public Page<Product> findPage() {
+        return productDao.findPage(randomId(), 20);
+    }
+
+    @Benchmark
+    public Product update() {
+        Product product = newProduct();
+        product.setId(randomId());
+        return productDao.update(product);
+    }
+
+    @Benchmark
+    public Product saveAndDelete() {
+        Product product = productDao.save(newProduct());
+        productDao.delete(product.getId());
+        return product;
+    }
+}
@@ -0,0 +1,80 @@
+package me.davidgarmo.soundseeker.product.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+import me.davidgarmo.soundseeker.product.persistence.entity.Product;
+import me.davidgarmo.soundseeker.product.web.util.ProductJson;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductJsonBenchmark {
+    private final Gson reflectiveGson = new Gson();
+    private final Gson codecGson = ProductJson.newGson();
+    private final TypeAdapter<Product> productAdapter = codecGson.getAdapter(Product.class);
+    private final CharArrayWriter buffer = new CharArrayWriter(4 * 1024 * 1024);
+    private Product product;
+    private List<Product> catalog;
+    private String productJson;
+
+    @Setup
+    public void setUp() {
+        catalog = new ArrayList<>(10_000);
+        for (long i = 1; i <= 10_000; i++) {
+            catalog.add(new Product(i, "Guitarra eléctrica " + i, "Cuerpo de aliso y mástil de arce, modelo " + i + ".",
+                    "Fender", 1299.99 + i, i % 3 != 0, "/uploads/ab/cd/" + Long.toHexString(i * 7919) + ".webp", i % 8 + 1));
+        }
+        product = catalog.get(0);
+        productJson = reflectiveGson.toJson(product);
+    }
+
+    @Benchmark
+    public String singleReflective() {
+        return reflectiveGson.toJson(product);
+    }
+
+    @Benchmark
+    public int singleCodec() throws IOException {
+        buffer.reset();
+        productAdapter.write(codecGson.newJsonWriter(buffer), product);
+        return buffer.size();
+    }
+
+    @Benchmark
+    public String listReflective() {
+        return reflectiveGson.toJson(catalog);
+    }
+
+    @Benchmark
+    public int listCodec() throws IOException {
+        buffer.reset();
+        JsonWriter writer = codecGson.newJsonWriter(buffer);
+        writer.beginArray();
+        for (Product item : catalog) {
+            productAdapter.write(writer, item);
+        }
+        writer.endArray();
+        return buffer.size();
+    }
+
+    @Benchmark
+    public Product readReflective() {
+        return reflectiveGson.fromJson(productJson, Product.class);
+    }
+
+    @Benchmark
+    public Product readCodec() {
+        return codecGson.fromJson(productJson, Product.class);
+    }
+}
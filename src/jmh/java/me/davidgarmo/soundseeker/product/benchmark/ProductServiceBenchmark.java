@@ -0,0 +1,125 @@
+package me.davidgarmo.soundseeker.product.benchmark;
+
+import me.davidgarmo.soundseeker.product.persistence.dao.IProductDao;
+import me.davidgarmo.soundseeker.product.persistence.dao.Page;
+import me.davidgarmo.soundseeker.product.persistence.dao.ProductField;
+import me.davidgarmo.soundseeker.product.persistence.dao.ProductFilter;
+import me.davidgarmo.soundseeker.product.persistence.dao.WriteOutcome;
+import me.davidgarmo.soundseeker.product.persistence.entity.Product;
+import me.davidgarmo.soundseeker.product.service.BatchItemResult;
+import me.davidgarmo.soundseeker.product.service.impl.ProductService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductServiceBenchmark {
+    private final ProductService productService = new ProductService(new InMemoryProductDao());
+    private Product product;
+    private List<Product> batch;
+    private ProductFilter filter;
+
+    @Setup
+    public void setUp() {
+        product = new Product(1L, "Batería Pearl Roadshow", "Batería acústica de cinco cuerpos con platillos y herrajes incluidos.",
+                "Pearl", 899.99, true, "/uploads/ab/cd/0123456789.webp", 3L);
+        batch = new ArrayList<>(ProductService.MAX_BATCH_SIZE);
+        for (long i = 1; i <= ProductService.MAX_BATCH_SIZE; i++) {
+            batch.add(new Product(i, i % 10 == 0 ? "" : "Producto " + i, "Descripción del producto " + i + ".",
+                    "Pearl", 10.0 + i, true, null, i % 8 + 1));
+        }
+        filter = new ProductFilter(3L, "Pearl", 100.0, 1000.0, true, ProductFilter.Sort.PRICE_ASC, 50);
+    }
+
+    @Benchmark
+    public Product save() {
+        return productService.save(product);
+    }
+
+    @Benchmark
+    public List<BatchItemResult> saveAll() {
+        return productService.saveAll(batch);
+    }
+
+    @Benchmark
+    public List<Product> findByFilter() {
+        return productService.findByFilter(filter, ProductField.ALL);
+    }
+
+    private static final class InMemoryProductDao implements IProductDao {
+        @Override
+        public Product save(Product product) {
+            return product;
+        }
+
+        @Override
+        public List<Product> saveAll(List<Product> products) {
+            return products;
+        }
+
+        @Override
+        public Product findById(Long id) {
+            return null;
+        }
+
+        @Override
+        public List<Product> findAll() {
+            return List.of();
+        }
+
+        @Override
+        public void streamAll(Consumer<? super Product> consumer) {
+        }
+
+        @Override
+        public void streamAll(Set<ProductField> fields, Consumer<? super Product> consumer) {
+        }
+
+        @Override
+        public Page<Product> findPage(Long afterId, int limit) {
+            return null;
+        }
+
+        @Override
+        public Page<Product> findPage(Long afterId, int limit, Set<ProductField> fields) {
+            return null;
+        }
+
+        @Override
+        public List<Product> findByFilter(ProductFilter filter) {
+            return List.of();
+        }
+
+        @Override
+        public List<Product> findByFilter(ProductFilter filter, Set<ProductField> fields) {
+            return List.of();
+        }
+
+        @Override
+        public Product update(Product product) {
+            return product;
+        }
+
+        @Override
+        public List<WriteOutcome<Product>> updateAll(List<Product> products) {
+            return products.stream().map(WriteOutcome::succeeded).toList();
+        }
+
+        @Override
+        public void delete(Long id) {
+        }
+
+        @Override
+        public void delete(Long id, Long expectedVersion) {
+        }
+    }
+}
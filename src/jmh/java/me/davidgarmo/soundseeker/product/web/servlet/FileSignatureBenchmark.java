@@ -0,0 +1,41 @@
+package me.davidgarmo.soundseeker.product.web.servlet;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileSignatureBenchmark {
+    @Param({"png", "jpg", "gif", "webp"})
+    public String extension;
+
+    private byte[] matching;
+    private byte[] forged;
+
+    @Setup
+    public void setUp() {
+        matching = switch (extension) {
+            case "png" -> new byte[]{(byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0x0D};
+            case "jpg" -> new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xDB, 0, 0x43, 0, 0, 0, 0, 0, 0};
+            case "gif" -> new byte[]{0x47, 0x49, 0x46, 0x38, 0x39, 0x61, 0x10, 0, 0x10, 0, 0, 0};
+            case "webp" -> new byte[]{0x52, 0x49, 0x46, 0x46, 0x24, 0, 0, 0, 0x57, 0x45, 0x42, 0x50};
+            default -> throw new IllegalArgumentException("Unsupported extension: " + extension);
+        };
+        forged = new byte[]{0x25, 0x50, 0x44, 0x46, 0x2D, 0x31, 0x2E, 0x37, 0x0A, 0x25, 0, 0};
+    }
+
+    @Benchmark
+    public boolean matchingSignature() {
+        return FileUploadServlet.isValidFileContent(matching, extension);
+    }
+
+    @Benchmark
+    public boolean forgedSignature() {
+        return FileUploadServlet.isValidFileContent(forged, extension);
+    }
+}
@@ -0,0 +1,345 @@
+package me.davidgarmo.soundseeker.product.loadtest;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import me.davidgarmo.soundseeker.product.config.DBConnection;
+import me.davidgarmo.soundseeker.product.config.ServerBootstrap;
+import me.davidgarmo.soundseeker.product.persistence.dao.PageCursor;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.apache.catalina.startup.Tomcat;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+public class LoadTestRunner {
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.durationSeconds", 30L));
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("loadtest.warmupSeconds", 10L));
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String RATES = System.getProperty("loadtest.rates", "byId=200,filter=100,page=50,create=20,upload=10");
+    private static final boolean POISSON = System.getProperty("loadtest.arrival", "constant").equalsIgnoreCase("poisson");
+    private static final long SEED = Long.getLong("loadtest.seed", 42L);
+    private static final Path OUTPUT = Path.of(System.getProperty("loadtest.output", "build/reports/loadtest/results.json"));
+    private static final String BOUNDARY = "soundseekerLoadTestBoundary";
+    private static final int UPLOAD_VARIANTS = 16;
+    private static final int CATEGORIES = 8;
+    private static final int PRODUCT_IDS = 10;
+
+    private final Map<Endpoint, Double> rates;
+    private final Map<Endpoint, Stats> stats = new EnumMap<>(Endpoint.class);
+    private final Stats overall = new Stats();
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<byte[]> uploads = new ArrayList<>(UPLOAD_VARIANTS);
+    private String baseUrl;
+
+    private LoadTestRunner(Map<Endpoint, Double> rates) {
+        this.rates = rates;
+        rates.keySet().forEach(endpoint -> stats.put(endpoint, new Stats()));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path databaseDir = Files.createTempDirectory("soundseeker-loadtest");
+        System.setProperty(DBConnection.URL_PROPERTY, "jdbc:h2:" + databaseDir.resolve("soundseeker-product").toAbsolutePath());
+        ServerBootstrap.ThreadMode threadMode = ServerBootstrap.ThreadMode.fromProperty();
+        LoadTestRunner runner = new LoadTestRunner(parseRates(RATES));
+
+        Tomcat tomcat = ServerBootstrap.createServer(0, threadMode);
+        tomcat.start();
+        try {
+            runner.baseUrl = "http://localhost:" + tomcat.getConnector().getLocalPort();
+            System.out.printf(Locale.ROOT, "Running %s arrivals against %s (%s threads): %s, %ds warm-up, %ds measured.%n",
+                    POISSON ? "poisson" : "constant", runner.baseUrl, threadMode.name().toLowerCase(Locale.ROOT),
+                    RATES, WARMUP.toSeconds(), DURATION.toSeconds());
+            runner.run();
+        } finally {
+            tomcat.stop();
+            tomcat.destroy();
+            DBConnection.closePool();
+            deleteRecursively(databaseDir);
+        }
+
+        runner.printReport();
+        runner.writeReport(threadMode);
+    }
+
+    private static Map<Endpoint, Double> parseRates(String value) {
+        Map<Endpoint, Double> rates = new EnumMap<>(Endpoint.class);
+        for (String entry : value.split(",")) {
+            String[] pair = entry.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.rates entry: " + entry);
+            }
+            double rate = Double.parseDouble(pair[1].trim());
+            if (rate > 0) {
+                rates.put(Endpoint.fromKey(pair[0].trim()), rate);
+            }
+        }
+        if (rates.isEmpty()) {
+            throw new IllegalArgumentException("At least one endpoint needs a positive rate in loadtest.rates.");
+        }
+        return rates;
+    }
+
+    private void run() throws IOException {
+        for (int i = 0; i < UPLOAD_VARIANTS; i++) {
+            uploads.add(multipartImage(i));
+        }
+
+        long start = System.nanoTime();
+        long measureFrom = start + WARMUP.toNanos();
+        long measureUntil = measureFrom + DURATION.toNanos();
+
+        try (HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Thread> schedulers = new ArrayList<>(rates.size());
+            for (Map.Entry<Endpoint, Double> rate : rates.entrySet()) {
+                SplittableRandom random = new SplittableRandom(SEED + rate.getKey().ordinal());
+                schedulers.add(Thread.ofVirtual().name("loadtest-" + rate.getKey().key).start(() ->
+                        schedule(rate.getKey(), rate.getValue(), random, clients, httpClient, start, measureFrom, measureUntil)));
+            }
+            for (Thread scheduler : schedulers) {
+                scheduler.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void schedule(Endpoint endpoint, double rate, SplittableRandom random, ExecutorService clients,
+                          HttpClient httpClient, long start, long measureFrom, long measureUntil) {
+        double meanInterval = 1_000_000_000.0 / rate;
+        double intended = start;
+
+        while (intended < measureUntil) {
+            long scheduled = (long) intended;
+            long wait;
+            while ((wait = scheduled - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            HttpRequest request = endpoint.request(this, random);
+            boolean measured = scheduled >= measureFrom;
+            clients.submit(() -> send(httpClient, endpoint, request, scheduled, measured));
+            intended += POISSON ? -Math.log(1.0 - random.nextDouble()) * meanInterval : meanInterval;
+        }
+    }
+
+    private void send(HttpClient httpClient, Endpoint endpoint, HttpRequest request, long scheduled, boolean measured) {
+        long sent = System.nanoTime();
+        int status;
+        try {
+            status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (Exception e) {
+            status = -1;
+        }
+        long done = System.nanoTime();
+
+        if (measured) {
+            stats.get(endpoint).record(done - scheduled, done - sent, status);
+            overall.record(done - scheduled, done - sent, status);
+        }
+    }
+
+    private String nextProductJson() {
+        long n = sequence.incrementAndGet();
+        return "{\"name\":\"Load test " + n + "-" + SEED + "\",\"description\":\"Producto creado por la prueba de carga.\","
+                + "\"brand\":\"Yamaha\",\"price\":" + (100 + n % 900) + ".5,\"available\":true,\"categoryId\":" + (n % CATEGORIES + 1) + "}";
+    }
+
+    private static byte[] multipartImage(int variant) throws IOException {
+        BufferedImage image = new BufferedImage(320, 240, BufferedImage.TYPE_INT_RGB);
+        SplittableRandom random = new SplittableRandom(SEED + variant);
+        for (int y = 0; y < image.getHeight(); y += 8) {
+            for (int x = 0; x < image.getWidth(); x += 8) {
+                int color = random.nextInt(0x1000000);
+                for (int dy = 0; dy < 8; dy++) {
+                    for (int dx = 0; dx < 8; dx++) {
+                        image.setRGB(x + dx, y + dy, color);
+                    }
+                }
+            }
+        }
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"loadtest-" + variant + ".png\"\r\n"
+                + "Content-Type: image/png\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        ImageIO.write(image, "png", body);
+        body.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return body.toByteArray();
+    }
+
+    private void printReport() {
+        System.out.printf(Locale.ROOT, "%n%-8s %8s %9s %9s %7s %9s %9s %9s %9s %9s %12s%n",
+                "endpoint", "target/s", "req/s", "requests", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms",
+                "max ms", "p99 svc ms");
+        stats.forEach((endpoint, endpointStats) -> printRow(endpoint.key, rates.get(endpoint), endpointStats));
+        printRow("all", rates.values().stream().mapToDouble(Double::doubleValue).sum(), overall);
+        System.out.println("Latencies are measured from the intended send time, correcting for coordinated omission;"
+                + " p99 svc is the uncorrected service time.");
+    }
+
+    private void printRow(String name, double target, Stats row) {
+        Histogram latency = row.latency;
+        System.out.printf(Locale.ROOT, "%-8s %8.1f %9.1f %9d %7d %9.2f %9.2f %9.2f %9.2f %9.2f %12.2f%n",
+                name, target, row.throughput(), latency.getTotalCount(), row.errors.sum(),
+                millis(latency, 50), millis(latency, 90), millis(latency, 99), millis(latency, 99.9),
+                latency.getMaxValue() / 1_000_000.0, millis(row.service, 99));
+    }
+
+    private void writeReport(ServerBootstrap.ThreadMode threadMode) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("javaVersion", Runtime.version().toString());
+        report.put("threadMode", threadMode.name().toLowerCase(Locale.ROOT));
+        report.put("arrival", POISSON ? "poisson" : "constant");
+        report.put("seed", SEED);
+        report.put("warmupSeconds", WARMUP.toSeconds());
+        report.put("durationSeconds", DURATION.toSeconds());
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        stats.forEach((endpoint, endpointStats) -> endpoints.put(endpoint.key, endpointStats.toReport(rates.get(endpoint))));
+        endpoints.put("all", overall.toReport(rates.values().stream().mapToDouble(Double::doubleValue).sum()));
+        report.put("endpoints", endpoints);
+
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        Files.createDirectories(OUTPUT.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(OUTPUT)) {
+            gson.toJson(report, writer);
+        }
+        System.out.println("Load test report saved to " + OUTPUT.toAbsolutePath());
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1_000_000.0;
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private enum Endpoint {
+        BY_ID("byId") {
+            @Override
+            HttpRequest request(LoadTestRunner runner, SplittableRandom random) {
+                return get(runner, "/api/v1/products/" + (random.nextInt(PRODUCT_IDS) + 1));
+            }
+        },
+        FILTER("filter") {
+            @Override
+            HttpRequest request(LoadTestRunner runner, SplittableRandom random) {
+                return get(runner, "/api/v1/products?category=" + (random.nextInt(CATEGORIES) + 1) + "&sort=price");
+            }
+        },
+        PAGE("page") {
+            @Override
+            HttpRequest request(LoadTestRunner runner, SplittableRandom random) {
+                return get(runner, "/api/v1/products?limit=20&after=" + PageCursor.encode((long) random.nextInt(PRODUCT_IDS)));
+            }
+        },
+        CREATE("create") {
+            @Override
+            HttpRequest request(LoadTestRunner runner, SplittableRandom random) {
+                return HttpRequest.newBuilder(URI.create(runner.baseUrl + "/api/v1/products"))
+                        .timeout(REQUEST_TIMEOUT)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(runner.nextProductJson()))
+                        .build();
+            }
+        },
+        UPLOAD("upload") {
+            @Override
+            HttpRequest request(LoadTestRunner runner, SplittableRandom random) {
+                return HttpRequest.newBuilder(URI.create(runner.baseUrl + "/api/v1/upload"))
+                        .timeout(REQUEST_TIMEOUT)
+                        .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(runner.uploads.get(random.nextInt(runner.uploads.size()))))
+                        .build();
+            }
+        };
+
+        private final String key;
+
+        Endpoint(String key) {
+            this.key = key;
+        }
+
+        static Endpoint fromKey(String key) {
+            for (Endpoint endpoint : values()) {
+                if (endpoint.key.equalsIgnoreCase(key)) {
+                    return endpoint;
+                }
+            }
+            throw new IllegalArgumentException("Unknown endpoint " + key + ", allowed values: byId, filter, page, create, upload.");
+        }
+
+        private static HttpRequest get(LoadTestRunner runner, String path) {
+            return HttpRequest.newBuilder(URI.create(runner.baseUrl + path)).timeout(REQUEST_TIMEOUT).build();
+        }
+
+        abstract HttpRequest request(LoadTestRunner runner, SplittableRandom random);
+    }
+
+    private static final class Stats {
+        private final Histogram latency = new ConcurrentHistogram(3);
+        private final Histogram service = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+
+        private void record(long latencyNanos, long serviceNanos, int status) {
+            latency.recordValue(latencyNanos);
+            service.recordValue(serviceNanos);
+            if (status < 200 || status >= 400) {
+                errors.increment();
+            }
+        }
+
+        private double throughput() {
+            return (latency.getTotalCount() - errors.sum()) / (double) DURATION.toSeconds();
+        }
+
+        private Map<String, Object> toReport(double target) {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("targetRate", target);
+            report.put("throughput", throughput());
+            report.put("requests", latency.getTotalCount());
+            report.put("errors", errors.sum());
+            report.put("p50Millis", millis(latency, 50));
+            report.put("p90Millis", millis(latency, 90));
+            report.put("p99Millis", millis(latency, 99));
+            report.put("p999Millis", millis(latency, 99.9));
+            report.put("maxMillis", latency.getMaxValue() / 1_000_000.0);
+            report.put("serviceP99Millis", millis(service, 99));
+            return report;
+        }
+    }
+}
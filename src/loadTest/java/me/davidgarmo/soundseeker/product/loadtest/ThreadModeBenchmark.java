@@ -0,0 +1,131 @@
+package me.davidgarmo.soundseeker.product.loadtest;
+
+import me.davidgarmo.soundseeker.product.config.DBConnection;
+import me.davidgarmo.soundseeker.product.config.ServerBootstrap;
+import org.apache.catalina.startup.Tomcat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ThreadModeBenchmark {
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 1000);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("benchmark.durationSeconds", 20L));
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("benchmark.warmupSeconds", 5L));
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int CATEGORIES = 8;
+    private static final int PRODUCT_IDS = 10;
+
+    public static void main(String[] args) throws Exception {
+        List<Result> results = new ArrayList<>();
+        for (ServerBootstrap.ThreadMode mode : ServerBootstrap.ThreadMode.values()) {
+            results.add(run(mode));
+        }
+
+        System.out.printf(Locale.ROOT, "%n%-10s %8s %10s %12s %9s %9s %9s %8s %8s%n",
+                "mode", "clients", "requests", "req/s", "p50 ms", "p99 ms", "max ms", "errors", "503s");
+        for (Result result : results) {
+            System.out.printf(Locale.ROOT, "%-10s %8d %10d %12.1f %9.2f %9.2f %9.2f %8d %8d%n",
+                    result.mode().name().toLowerCase(Locale.ROOT), CLIENTS, result.latencies().length,
+                    result.latencies().length / (double) DURATION.toSeconds(),
+                    percentile(result.latencies(), 0.50), percentile(result.latencies(), 0.99),
+                    percentile(result.latencies(), 1.0), result.errors(), result.rejected());
+        }
+        DBConnection.closePool();
+    }
+
+    private static Result run(ServerBootstrap.ThreadMode mode) throws Exception {
+        Tomcat tomcat = ServerBootstrap.createServer(0, mode);
+        tomcat.start();
+        String baseUrl = "http://localhost:" + tomcat.getConnector().getLocalPort() + "/api/v1/products";
+        System.out.printf(Locale.ROOT, "Running %s threads: %d clients, %ds warm-up, %ds measured.%n",
+                mode.name().toLowerCase(Locale.ROOT), CLIENTS, WARMUP.toSeconds(), DURATION.toSeconds());
+
+        LongAdder errors = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        long measureFrom = System.nanoTime() + WARMUP.toNanos();
+        long measureUntil = measureFrom + DURATION.toNanos();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder()
+                     .executor(clients)
+                     .connectTimeout(REQUEST_TIMEOUT)
+                     .build()) {
+            List<Future<long[]>> futures = new ArrayList<>(CLIENTS);
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(clients.submit(() -> runClient(httpClient, baseUrl, measureFrom, measureUntil, errors, rejected)));
+            }
+
+            List<long[]> perClient = new ArrayList<>(CLIENTS);
+            for (Future<long[]> future : futures) {
+                perClient.add(future.get());
+            }
+            long[] latencies = perClient.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            return new Result(mode, latencies, errors.sum(), rejected.sum());
+        } finally {
+            tomcat.stop();
+            tomcat.destroy();
+        }
+    }
+
+    private static long[] runClient(HttpClient httpClient, String baseUrl, long measureFrom, long measureUntil,
+                                    LongAdder errors, LongAdder rejected) {
+        long[] latencies = new long[256];
+        int count = 0;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        while (true) {
+            String url = random.nextBoolean()
+                    ? baseUrl + "?category=" + (random.nextInt(CATEGORIES) + 1) + "&sort=price"
+                    : baseUrl + "/" + (random.nextInt(PRODUCT_IDS) + 1);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(REQUEST_TIMEOUT).build();
+
+            long start = System.nanoTime();
+            if (start >= measureUntil) {
+                return Arrays.copyOf(latencies, count);
+            }
+            int status;
+            try {
+                status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (Exception e) {
+                status = -1;
+            }
+            long end = System.nanoTime();
+
+            if (start < measureFrom || end > measureUntil) {
+                continue;
+            }
+            if (status == 503) {
+                rejected.increment();
+            } else if (status < 200 || status >= 500) {
+                errors.increment();
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = end - start;
+        }
+    }
+
+    private static double percentile(long[] sortedLatencies, double quantile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, Math.min(index, sortedLatencies.length - 1))] / 1_000_000.0;
+    }
+
+    private record Result(ServerBootstrap.ThreadMode mode, long[] latencies, long errors, long rejected) {
+    }
+}
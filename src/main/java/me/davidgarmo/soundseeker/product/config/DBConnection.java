@@ -2,54 +2,96 @@ package me.davidgarmo.soundseeker.product.config;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import me.davidgarmo.soundseeker.product.metrics.MetricsRegistry;
+import me.davidgarmo.soundseeker.product.metrics.PoolMetricsTrackerFactory;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.h2.api.ErrorCode;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Statement;
 
 public class DBConnection {
     private static final Logger LOGGER = LogManager.getLogger();
-    private static final String URL = "jdbc:h2:~/soundseeker-product";
+    public static final String URL_PROPERTY = "soundseeker.db.url";
+    private static final String DEFAULT_URL = "jdbc:h2:~/soundseeker-product";
     private static final String USER = "sa";
     private static final String PASSWORD = "sa";
+    private static final int MAXIMUM_POOL_SIZE = 10;
+    private static final String[] SCHEMA_UPGRADES = {
+            "CREATE INDEX IF NOT EXISTS IDX_PRODUCT_CATEGORY_PRICE ON PRODUCT (CATEGORY_ID, PRICE)",
+            "CREATE INDEX IF NOT EXISTS IDX_PRODUCT_BRAND_PRICE ON PRODUCT (BRAND, PRICE)",
+            "CREATE INDEX IF NOT EXISTS IDX_PRODUCT_AVAILABLE_PRICE ON PRODUCT (AVAILABLE, PRICE)",
+            "CREATE INDEX IF NOT EXISTS IDX_PRODUCT_PRICE ON PRODUCT (PRICE)",
+            "ALTER TABLE PRODUCT ADD COLUMN IF NOT EXISTS VERSION BIGINT DEFAULT 0 NOT NULL"
+    };
 
     private static HikariDataSource dataSource;
 
     static {
         try {
             initializePool();
+        } catch (SQLException e) {
+            LOGGER.fatal("✘ Error checking or initializing database: {}", e.getMessage());
+            closePool();
+            throw new IllegalStateException("Database schema could not be initialized or upgraded.", e);
         } catch (Exception e) {
             LOGGER.error("✘ Error initializing connection pool: {}", e.getMessage());
         }
     }
 
-    private static void initializePool() {
+    private static void initializePool() throws SQLException {
         HikariConfig config = new HikariConfig();
-        config.setJdbcUrl(URL);
+        config.setJdbcUrl(System.getProperty(URL_PROPERTY, DEFAULT_URL));
         config.setUsername(USER);
         config.setPassword(PASSWORD);
-        config.setMaximumPoolSize(10);
+        config.setMaximumPoolSize(MAXIMUM_POOL_SIZE);
         config.setMinimumIdle(2);
+        config.setPoolName("soundseeker");
+        config.setMetricsTrackerFactory(new PoolMetricsTrackerFactory(MetricsRegistry.getDefault()));
 
         dataSource = new HikariDataSource(config);
         LOGGER.info("✔ Connection pool initialized successfully.");
         initializeDatabaseIfNeeded();
     }
 
-    private static void initializeDatabaseIfNeeded() {
+    private static void initializeDatabaseIfNeeded() throws SQLException {
         try (Connection connection = dataSource.getConnection()) {
-            try {
-                connection.createStatement().execute("SELECT 1 FROM PRODUCT LIMIT 1");
+            if (productTableExists(connection)) {
                 LOGGER.info("✔ Database tables already exist, skipping initialization.");
-            } catch (SQLException e) {
+                upgradeSchema(connection);
+            } else {
                 LOGGER.info("✔ Initializing database tables...");
-                connection.createStatement().execute("RUNSCRIPT FROM 'create.sql'");
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("RUNSCRIPT FROM 'create.sql'");
+                }
                 LOGGER.info("✔ Database tables initialized successfully.");
             }
+        }
+    }
+
+    private static boolean productTableExists(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT 1 FROM PRODUCT LIMIT 1");
+            return true;
         } catch (SQLException e) {
-            LOGGER.error("✘ Error checking or initializing database: {}", e.getMessage());
+            if (e.getErrorCode() == ErrorCode.TABLE_OR_VIEW_NOT_FOUND_1
+                    || e.getErrorCode() == ErrorCode.TABLE_OR_VIEW_NOT_FOUND_DATABASE_EMPTY_1
+                    || e.getErrorCode() == ErrorCode.TABLE_OR_VIEW_NOT_FOUND_WITH_CANDIDATES_2) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    private static void upgradeSchema(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String upgrade : SCHEMA_UPGRADES) {
+                statement.execute(upgrade);
+            }
         }
+        LOGGER.info("✔ Database schema is up to date.");
     }
 
     public static Connection getConnection() throws SQLException {
@@ -59,6 +101,16 @@ public class DBConnection {
         return dataSource.getConnection();
     }
 
+    public static void evictConnection(Connection connection) {
+        if (dataSource != null && connection != null) {
+            dataSource.evictConnection(connection);
+        }
+    }
+
+    public static int getMaximumPoolSize() {
+        return dataSource == null ? MAXIMUM_POOL_SIZE : dataSource.getMaximumPoolSize();
+    }
+
     public static void closePool() {
         if (dataSource != null && !dataSource.isClosed()) {
             dataSource.close();
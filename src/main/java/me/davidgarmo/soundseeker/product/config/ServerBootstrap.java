@@ -0,0 +1,212 @@
+package me.davidgarmo.soundseeker.product.config;
+
+import me.davidgarmo.soundseeker.product.metrics.MetricsRegistry;
+import me.davidgarmo.soundseeker.product.persistence.impl.CachingProductDao;
+import me.davidgarmo.soundseeker.product.web.servlet.FileServingServlet;
+import me.davidgarmo.soundseeker.product.web.servlet.FileUploadServlet;
+import me.davidgarmo.soundseeker.product.web.servlet.MetricsServlet;
+import me.davidgarmo.soundseeker.product.web.servlet.ProductServlet;
+import me.davidgarmo.soundseeker.product.web.servlet.RecordingServlet;
+import me.davidgarmo.soundseeker.product.web.util.CORSFilter;
+import me.davidgarmo.soundseeker.product.web.util.ConcurrencyLimitFilter;
+import me.davidgarmo.soundseeker.product.web.util.FileCache;
+import me.davidgarmo.soundseeker.product.web.util.MetricsFilter;
+import me.davidgarmo.soundseeker.product.web.util.ServerTimingFilter;
+import me.davidgarmo.soundseeker.product.web.util.StaticCacheFilter;
+import me.davidgarmo.soundseeker.product.web.util.ThumbnailPipeline;
+import org.apache.catalina.Context;
+import org.apache.catalina.WebResourceRoot;
+import org.apache.catalina.Wrapper;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.core.StandardVirtualThreadExecutor;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.catalina.webresources.DirResourceSet;
+import org.apache.catalina.webresources.StandardRoot;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tomcat.util.descriptor.web.FilterDef;
+import org.apache.tomcat.util.descriptor.web.FilterMap;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class ServerBootstrap {
+    public static final String THREAD_MODE_PROPERTY = "soundseeker.server.threads";
+    public static final String STATIC_DIR_PROPERTY = "soundseeker.static.dir";
+    public static final String TRACING_SAMPLE_RATE_PROPERTY = "soundseeker.tracing.sampleRate";
+    public static final String ACCESS_LOG_PROPERTY = "soundseeker.tracing.accessLog";
+    private static final String COMPRESSIBLE_MIME_TYPES = "application/json,text/css,application/javascript,"
+            + "text/javascript,image/svg+xml,text/html,text/plain,application/manifest+json";
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final Duration ADMISSION_TIMEOUT =
+            Duration.ofMillis(Long.getLong("soundseeker.server.admissionTimeoutMillis", 2000L));
+
+    private ServerBootstrap() {
+    }
+
+    public static Tomcat createServer(int port, ThreadMode threadMode) {
+        Tomcat tomcat = new Tomcat();
+        tomcat.setPort(port);
+        Connector connector = tomcat.getConnector();
+        connector.setProperty("compression", "on");
+        connector.setProperty("compressionMinSize", Integer.getInteger("soundseeker.server.compressionMinSize", 1024).toString());
+        connector.setProperty("compressibleMimeType", COMPRESSIBLE_MIME_TYPES);
+
+        if (threadMode == ThreadMode.VIRTUAL) {
+            StandardVirtualThreadExecutor executor = new StandardVirtualThreadExecutor();
+            executor.setName("virtualThreadExecutor");
+            executor.setNamePrefix("soundseeker-vt-");
+            tomcat.getService().addExecutor(executor);
+            connector.getProtocolHandler().setExecutor(executor);
+        }
+
+        String baseDir = new File(System.getProperty("java.io.tmpdir")).getAbsolutePath();
+        tomcat.setBaseDir(baseDir);
+
+        File docBase = new File("src/main/webapp/");
+        if (!docBase.exists()) {
+            docBase = new File(".");
+        }
+
+        Context context = tomcat.addContext("", docBase.getAbsolutePath());
+        context.setAllowCasualMultipartParsing(true);
+
+        File staticDir = new File(System.getProperty(STATIC_DIR_PROPERTY, "build/webapp"));
+        if (staticDir.isDirectory()) {
+            WebResourceRoot resources = new StandardRoot(context);
+            resources.addPreResources(new DirResourceSet(resources, "/", staticDir.getAbsolutePath(), "/"));
+            context.setResources(resources);
+            LOGGER.info("✔ Serving fingerprinted static assets from {}.", staticDir.getAbsolutePath());
+        }
+
+        File uploadsDir = new File(docBase, "uploads");
+        if (!uploadsDir.exists()) {
+            uploadsDir.mkdirs();
+        }
+
+        MetricsRegistry metrics = MetricsRegistry.getDefault();
+        ProductServlet productServlet = new ProductServlet();
+        Tomcat.addServlet(context, "productServlet", productServlet).setLoadOnStartup(1);
+        context.addServletMappingDecoded("/api/v1/products/*", "productServlet");
+
+        FileCache fileCache = new FileCache();
+        ThumbnailPipeline thumbnailPipeline = new ThumbnailPipeline();
+        Wrapper uploadWrapper = Tomcat.addServlet(context, "fileUploadServlet", new FileUploadServlet(thumbnailPipeline));
+        uploadWrapper.setMultipartConfigElement(FileUploadServlet.multipartConfig(uploadsDir));
+        context.addServletMappingDecoded("/api/v1/upload/*", "fileUploadServlet");
+
+        Tomcat.addServlet(context, "fileServingServlet", new FileServingServlet(fileCache, thumbnailPipeline));
+        context.addServletMappingDecoded("/uploads/*", "fileServingServlet");
+
+        Tomcat.addServlet(context, "metricsServlet", new MetricsServlet(metrics));
+        context.addServletMappingDecoded("/api/v1/metrics", "metricsServlet");
+        Tomcat.addServlet(context, "recordingServlet", new RecordingServlet());
+        context.addServletMappingDecoded("/api/v1/admin/recording/*", "recordingServlet");
+        registerComponentMetrics(metrics, productServlet.getProductCache(), fileCache, thumbnailPipeline);
+
+        context.addFilterDef(new FilterDef() {{
+            setFilterName("metricsFilter");
+            setFilter(new MetricsFilter(metrics));
+        }});
+        context.addFilterMap(new FilterMap() {{
+            setFilterName("metricsFilter");
+            addURLPattern("/api/*");
+            addURLPattern("/uploads/*");
+        }});
+
+        double sampleRate = Double.parseDouble(System.getProperty(TRACING_SAMPLE_RATE_PROPERTY, "0.1"));
+        boolean accessLog = Boolean.getBoolean(ACCESS_LOG_PROPERTY);
+        context.addFilterDef(new FilterDef() {{
+            setFilterName("serverTimingFilter");
+            setFilter(new ServerTimingFilter(sampleRate, accessLog));
+        }});
+        context.addFilterMap(new FilterMap() {{
+            setFilterName("serverTimingFilter");
+            addURLPattern("/api/v1/products/*");
+        }});
+
+        context.addFilterDef(new FilterDef() {{
+            setFilterName("CORSFilter");
+            setFilterClass(CORSFilter.class.getName());
+        }});
+        context.addFilterMap(new FilterMap() {{
+            setFilterName("CORSFilter");
+            addURLPattern("/*");
+        }});
+
+        if (threadMode == ThreadMode.VIRTUAL) {
+            int permits = DBConnection.getMaximumPoolSize();
+            LongAdder rejected = metrics.counter("soundseeker_admission_rejected_total",
+                    "Product requests rejected by the concurrency limit.");
+            ConcurrencyLimitFilter concurrencyLimitFilter = new ConcurrencyLimitFilter(permits, ADMISSION_TIMEOUT, rejected,
+                    productServlet::isServedFromMemory);
+            context.addFilterDef(new FilterDef() {{
+                setFilterName("concurrencyLimitFilter");
+                setFilter(concurrencyLimitFilter);
+            }});
+            context.addFilterMap(new FilterMap() {{
+                setFilterName("concurrencyLimitFilter");
+                addURLPattern("/api/v1/products/*");
+            }});
+        }
+
+        context.addFilterDef(new FilterDef() {{
+            setFilterName("staticCacheFilter");
+            setFilterClass(StaticCacheFilter.class.getName());
+        }});
+        context.addFilterMap(new FilterMap() {{
+            setFilterName("staticCacheFilter");
+            addURLPattern("/*");
+        }});
+
+        Tomcat.initWebappDefaults(context);
+        ((Wrapper) context.findChild("default")).addInitParameter("precompressed", "true");
+        LOGGER.info("✔ Tomcat configured with {} request threads.", threadMode.name().toLowerCase(Locale.ROOT));
+        return tomcat;
+    }
+
+    private static void registerComponentMetrics(MetricsRegistry metrics, CachingProductDao productCache, FileCache fileCache,
+                                                 ThumbnailPipeline thumbnailPipeline) {
+        metrics.functionCounter("soundseeker_cache_hits_total", "Cache lookups served from memory.",
+                productCache::getHitCount, "cache", "product");
+        metrics.functionCounter("soundseeker_cache_misses_total", "Cache lookups that went to the backing store.",
+                productCache::getMissCount, "cache", "product");
+        metrics.functionCounter("soundseeker_cache_evictions_total", "Entries evicted to stay within the cache limits.",
+                productCache::getEvictionCount, "cache", "product");
+        metrics.gauge("soundseeker_cache_entries", "Entries currently held by the cache.", productCache::size, "cache", "product");
+        metrics.functionCounter("soundseeker_cache_hits_total", "Cache lookups served from memory.",
+                fileCache::getHitCount, "cache", "file");
+        metrics.functionCounter("soundseeker_cache_misses_total", "Cache lookups that went to the backing store.",
+                fileCache::getMissCount, "cache", "file");
+        metrics.functionCounter("soundseeker_cache_evictions_total", "Entries evicted to stay within the cache limits.",
+                fileCache::getEvictionCount, "cache", "file");
+        metrics.gauge("soundseeker_cache_entries", "Entries currently held by the cache.", fileCache::size, "cache", "file");
+        metrics.functionCounter("soundseeker_file_cache_uncacheable_total", "File requests too large to be cached.",
+                fileCache::getUncacheableCount);
+        metrics.gauge("soundseeker_file_cache_bytes", "Bytes of file content held by the file cache.", fileCache::getUsedBytes);
+        metrics.functionCounter("soundseeker_thumbnails_generated_total", "Thumbnails generated.",
+                thumbnailPipeline::getGeneratedCount);
+        metrics.functionCounter("soundseeker_thumbnails_rejected_total", "Thumbnail jobs rejected by a full queue.",
+                thumbnailPipeline::getRejectedCount);
+        metrics.functionCounter("soundseeker_thumbnails_fallback_total",
+                "Thumbnail requests answered with the original because the workers were busy.",
+                thumbnailPipeline::getFallbackCount);
+        metrics.gauge("soundseeker_thumbnails_queued", "Thumbnail jobs waiting for a worker.", thumbnailPipeline::getQueueSize);
+    }
+
+    public enum ThreadMode {
+        PLATFORM,
+        VIRTUAL;
+
+        public static ThreadMode fromProperty() {
+            String value = System.getProperty(THREAD_MODE_PROPERTY, "platform");
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid " + THREAD_MODE_PROPERTY + ", allowed values: platform, virtual.");
+            }
+        }
+    }
+}
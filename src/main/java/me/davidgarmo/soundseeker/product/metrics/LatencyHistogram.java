@@ -0,0 +1,89 @@
+package me.davidgarmo.soundseeker.product.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+public class LatencyHistogram {
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final Duration DEFAULT_WINDOW = Duration.ofMinutes(1);
+    private static final int DEFAULT_SLICES = 6;
+
+    private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+    private final Histogram window = new Histogram(SIGNIFICANT_DIGITS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+    private final Histogram[] slices;
+    private final long sliceNanos;
+    private final LongSupplier nanoClock;
+    private Histogram interval;
+    private int current;
+    private long currentSliceStart;
+
+    public LatencyHistogram() {
+        this(DEFAULT_WINDOW, DEFAULT_SLICES, System::nanoTime);
+    }
+
+    LatencyHistogram(Duration window, int slices, LongSupplier nanoClock) {
+        if (slices < 1 || window.toNanos() < slices) {
+            throw new IllegalArgumentException("The window must be positive and split into at least one slice.");
+        }
+        this.slices = new Histogram[slices];
+        for (int i = 0; i < slices; i++) {
+            this.slices[i] = new Histogram(SIGNIFICANT_DIGITS);
+        }
+        this.sliceNanos = window.toNanos() / slices;
+        this.nanoClock = nanoClock;
+        this.currentSliceStart = nanoClock.getAsLong();
+    }
+
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        recorder.recordValue(value);
+        count.increment();
+        sumNanos.add(value);
+    }
+
+    public synchronized Snapshot snapshot() {
+        interval = recorder.getIntervalHistogram(interval);
+        rotate(nanoClock.getAsLong());
+        slices[current].add(interval);
+        window.reset();
+        for (Histogram slice : slices) {
+            window.add(slice);
+        }
+        return new Snapshot(
+                count.sum(),
+                sumNanos.sum(),
+                window.getTotalCount(),
+                window.getValueAtPercentile(50.0),
+                window.getValueAtPercentile(90.0),
+                window.getValueAtPercentile(99.0),
+                window.getValueAtPercentile(99.9),
+                window.getMaxValue()
+        );
+    }
+
+    private void rotate(long now) {
+        long elapsedSlices = (now - currentSliceStart) / sliceNanos;
+        if (elapsedSlices <= 0) {
+            return;
+        }
+        for (long i = 0; i < Math.min(elapsedSlices, slices.length); i++) {
+            current = (current + 1) % slices.length;
+            slices[current].reset();
+        }
+        currentSliceStart += elapsedSlices * sliceNanos;
+    }
+
+    /**
+     * {@code count} and {@code sumNanos} are cumulative since start; the percentiles, the maximum and
+     * {@code windowCount} only cover the sliding window.
+     */
+    public record Snapshot(long count, long sumNanos, long windowCount, long p50Nanos, long p90Nanos, long p99Nanos,
+                           long p999Nanos, long maxNanos) {
+    }
+}
@@ -0,0 +1,136 @@
+package me.davidgarmo.soundseeker.product.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+public class MetricsRegistry {
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final String[] QUANTILES = {"0.5", "0.9", "0.99", "0.999"};
+
+    private final ConcurrentMap<String, Family> families = new ConcurrentSkipListMap<>();
+
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    public LongAdder counter(String name, String help, String... labels) {
+        return (LongAdder) family(name, help, Type.COUNTER).series.computeIfAbsent(labelSet(labels), key -> new LongAdder());
+    }
+
+    public void functionCounter(String name, String help, LongSupplier value, String... labels) {
+        family(name, help, Type.COUNTER).series.put(labelSet(labels), value);
+    }
+
+    public void gauge(String name, String help, DoubleSupplier value, String... labels) {
+        family(name, help, Type.GAUGE).series.put(labelSet(labels), value);
+    }
+
+    public LatencyHistogram timer(String name, String help, String... labels) {
+        return (LatencyHistogram) family(name, help, Type.SUMMARY).series.computeIfAbsent(labelSet(labels),
+                key -> new LatencyHistogram());
+    }
+
+    public void writePrometheus(Writer out) throws IOException {
+        StringBuilder text = new StringBuilder(4096);
+        for (Family family : families.values()) {
+            text.append("# HELP ").append(family.name).append(' ').append(family.help).append('\n');
+            text.append("# TYPE ").append(family.name).append(' ').append(family.type.text).append('\n');
+            for (Map.Entry<String, Object> series : family.series.entrySet()) {
+                appendSeries(text, family.name, series.getKey(), series.getValue());
+            }
+        }
+        out.write(text.toString());
+    }
+
+    private Family family(String name, String help, Type type) {
+        Family family = families.computeIfAbsent(name, key -> new Family(name, help, type));
+        if (family.type != type) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as a " + family.type.text + ".");
+        }
+        return family;
+    }
+
+    private static void appendSeries(StringBuilder text, String name, String labels, Object value) {
+        switch (value) {
+            case LongAdder adder -> appendSample(text, name, labels, null, Long.toString(adder.sum()));
+            case LongSupplier supplier -> appendSample(text, name, labels, null, Long.toString(supplier.getAsLong()));
+            case DoubleSupplier supplier -> appendSample(text, name, labels, null, Double.toString(supplier.getAsDouble()));
+            case LatencyHistogram histogram -> {
+                LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+                long[] quantiles = {snapshot.p50Nanos(), snapshot.p90Nanos(), snapshot.p99Nanos(), snapshot.p999Nanos()};
+                for (int i = 0; i < QUANTILES.length; i++) {
+                    appendSample(text, name, labels, "quantile=\"" + QUANTILES[i] + "\"", seconds(quantiles[i]));
+                }
+                appendSample(text, name + "_sum", labels, null, seconds(snapshot.sumNanos()));
+                appendSample(text, name + "_count", labels, null, Long.toString(snapshot.count()));
+            }
+            default -> throw new IllegalStateException("Unsupported metric value: " + value.getClass().getName());
+        }
+    }
+
+    private static void appendSample(StringBuilder text, String name, String labels, String extraLabel, String value) {
+        text.append(name);
+        if (!labels.isEmpty() || extraLabel != null) {
+            text.append('{').append(labels);
+            if (extraLabel != null) {
+                text.append(labels.isEmpty() ? "" : ",").append(extraLabel);
+            }
+            text.append('}');
+        }
+        text.append(' ').append(value).append('\n');
+    }
+
+    private static String seconds(long nanos) {
+        return Double.toString(nanos / NANOS_PER_SECOND);
+    }
+
+    static String labelSet(String... labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be given as name and value pairs.");
+        }
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < labels.length; i += 2) {
+            if (i > 0) {
+                text.append(',');
+            }
+            text.append(labels[i]).append("=\"");
+            String value = labels[i + 1];
+            for (int j = 0; j < value.length(); j++) {
+                char c = value.charAt(j);
+                switch (c) {
+                    case '\\' -> text.append("\\\\");
+                    case '"' -> text.append("\\\"");
+                    case '\n' -> text.append("\\n");
+                    default -> text.append(c);
+                }
+            }
+            text.append('"');
+        }
+        return text.toString();
+    }
+
+    private enum Type {
+        COUNTER("counter"),
+        GAUGE("gauge"),
+        SUMMARY("summary");
+
+        private final String text;
+
+        Type(String text) {
+            this.text = text;
+        }
+    }
+
+    private record Family(String name, String help, Type type, ConcurrentMap<String, Object> series) {
+        Family(String name, String help, Type type) {
+            this(name, help, type, new ConcurrentSkipListMap<>());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package me.davidgarmo.soundseeker.product.metrics;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class PoolMetricsTrackerFactory implements MetricsTrackerFactory {
+    private static final String CONNECTIONS = "soundseeker_db_pool_connections";
+    private static final String CONNECTIONS_HELP = "Connections in the HikariCP pool by state.";
+
+    private final MetricsRegistry registry;
+
+    public PoolMetricsTrackerFactory(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        registry.gauge(CONNECTIONS, CONNECTIONS_HELP, poolStats::getActiveConnections, "pool", poolName, "state", "active");
+        registry.gauge(CONNECTIONS, CONNECTIONS_HELP, poolStats::getIdleConnections, "pool", poolName, "state", "idle");
+        registry.gauge(CONNECTIONS, CONNECTIONS_HELP, poolStats::getPendingThreads, "pool", poolName, "state", "pending");
+        registry.gauge(CONNECTIONS, CONNECTIONS_HELP, poolStats::getTotalConnections, "pool", poolName, "state", "total");
+        registry.gauge("soundseeker_db_pool_max_connections", "Maximum size of the HikariCP pool.",
+                poolStats::getMaxConnections, "pool", poolName);
+
+        LatencyHistogram acquire = registry.timer("soundseeker_db_connection_acquire_seconds",
+                "Time spent waiting for a pooled connection.", "pool", poolName);
+        LatencyHistogram usage = registry.timer("soundseeker_db_connection_usage_seconds",
+                "Time a connection stayed borrowed from the pool.", "pool", poolName);
+        LongAdder timeouts = registry.counter("soundseeker_db_connection_timeouts_total",
+                "Connection requests that timed out waiting for the pool.", "pool", poolName);
+
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquire.record(elapsedAcquiredNanos);
+                RequestTrace.record(RequestTrace.Phase.POOL, elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usage.record(TimeUnit.MILLISECONDS.toNanos(elapsedBorrowedMillis));
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+}
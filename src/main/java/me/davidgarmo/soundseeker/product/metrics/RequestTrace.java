@@ -0,0 +1,105 @@
+package me.davidgarmo.soundseeker.product.metrics;
+
+import java.util.Locale;
+
+public final class RequestTrace {
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final long startNanos = System.nanoTime();
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private final int[] phaseCounts = new int[Phase.values().length];
+
+    private RequestTrace() {
+    }
+
+    public static RequestTrace start() {
+        RequestTrace trace = new RequestTrace();
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    public static long begin() {
+        return CURRENT.get() == null ? 0L : System.nanoTime();
+    }
+
+    public static void end(Phase phase, long beginNanos) {
+        if (beginNanos != 0L) {
+            record(phase, System.nanoTime() - beginNanos);
+        }
+    }
+
+    public static void record(Phase phase, long nanos) {
+        RequestTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.add(phase, nanos);
+        }
+    }
+
+    public void add(Phase phase, long nanos) {
+        phaseNanos[phase.ordinal()] += nanos;
+        phaseCounts[phase.ordinal()]++;
+    }
+
+    public long getPhaseNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    public int getPhaseCount(Phase phase) {
+        return phaseCounts[phase.ordinal()];
+    }
+
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public String toServerTiming() {
+        StringBuilder header = new StringBuilder(96);
+        for (Phase phase : Phase.values()) {
+            if (phaseCounts[phase.ordinal()] > 0) {
+                header.append(phase.metricName).append(";dur=").append(millis(phaseNanos[phase.ordinal()])).append(", ");
+            }
+        }
+        return header.append("total;dur=").append(millis(getElapsedNanos())).toString();
+    }
+
+    public String toLogFields() {
+        StringBuilder fields = new StringBuilder(96).append("dur_ms=").append(millis(getElapsedNanos()));
+        for (Phase phase : Phase.values()) {
+            if (phaseCounts[phase.ordinal()] > 0) {
+                fields.append(' ').append(phase.metricName).append("_ms=").append(millis(phaseNanos[phase.ordinal()]))
+                        .append(' ').append(phase.metricName).append("_count=").append(phaseCounts[phase.ordinal()]);
+            }
+        }
+        return fields.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / NANOS_PER_MILLI);
+    }
+
+    public enum Phase {
+        POOL("pool"),
+        DB("db"),
+        VALIDATE("validate"),
+        SERIALIZE("serialize");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String getMetricName() {
+            return metricName;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package me.davidgarmo.soundseeker.product.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("soundseeker.FileUpload")
+@Label("File Upload")
+@Category({"SoundSeeker", "Uploads"})
+@StackTrace(false)
+public class FileUploadEvent extends Event {
+    @Label("File Name")
+    public String fileName;
+
+    @Label("Size")
+    @DataAmount
+    public long size;
+
+    @Label("Extension")
+    public String extension;
+
+    @Label("Validation Result")
+    public String validationResult;
+
+    @Label("Deduplicated")
+    public boolean deduplicated;
+
+    @Label("Write Time")
+    @Timespan
+    public long writeTime;
+}
@@ -0,0 +1,30 @@
+package me.davidgarmo.soundseeker.product.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("soundseeker.HttpRequest")
+@Label("HTTP Request")
+@Category({"SoundSeeker", "HTTP"})
+@StackTrace(false)
+public class HttpRequestEvent extends Event {
+    @Label("Route")
+    public String route;
+
+    @Label("Method")
+    public String method;
+
+    @Label("URI")
+    public String uri;
+
+    @Label("Status")
+    public int status;
+
+    @Label("Response Bytes")
+    @DataAmount
+    public long bytes;
+}
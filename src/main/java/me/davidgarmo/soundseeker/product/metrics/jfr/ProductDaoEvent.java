@@ -0,0 +1,25 @@
+package me.davidgarmo.soundseeker.product.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("soundseeker.ProductDao")
+@Label("Product DAO Operation")
+@Category({"SoundSeeker", "Database"})
+@StackTrace(false)
+public class ProductDaoEvent extends Event {
+    @Label("Operation")
+    public String operation;
+
+    @Label("Product ID")
+    public long productId;
+
+    @Label("Rows")
+    public int rows;
+
+    @Label("Failed")
+    public boolean failed;
+}
@@ -1,16 +1,25 @@
 package me.davidgarmo.soundseeker.product.persistence.dao;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface IDao<T> {
 
     T save(T t);
 
+    List<T> saveAll(List<T> ts);
+
     T findById(Long id);
 
     List<T> findAll();
 
+    void streamAll(Consumer<? super T> consumer);
+
+    Page<T> findPage(Long afterId, int limit);
+
     T update(T t);
 
+    List<WriteOutcome<T>> updateAll(List<T> ts);
+
     void delete(Long id);
 }
@@ -0,0 +1,20 @@
+package me.davidgarmo.soundseeker.product.persistence.dao;
+
+import me.davidgarmo.soundseeker.product.persistence.entity.Product;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public interface IProductDao extends IDao<Product> {
+
+    void streamAll(Set<ProductField> fields, Consumer<? super Product> consumer);
+
+    Page<Product> findPage(Long afterId, int limit, Set<ProductField> fields);
+
+    List<Product> findByFilter(ProductFilter filter);
+
+    List<Product> findByFilter(ProductFilter filter, Set<ProductField> fields);
+
+    void delete(Long id, Long expectedVersion);
+}
@@ -0,0 +1,6 @@
+package me.davidgarmo.soundseeker.product.persistence.dao;
+
+import java.util.List;
+
+public record Page<T>(List<T> items, String nextCursor) {
+}
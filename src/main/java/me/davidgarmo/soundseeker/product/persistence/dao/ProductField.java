@@ -0,0 +1,73 @@
+package me.davidgarmo.soundseeker.product.persistence.dao;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.StringJoiner;
+
+public enum ProductField {
+    ID("id", "ID"),
+    NAME("name", "NAME"),
+    DESCRIPTION("description", "DESCRIPTION"),
+    BRAND("brand", "BRAND"),
+    PRICE("price", "PRICE"),
+    AVAILABLE("available", "AVAILABLE"),
+    THUMBNAIL("thumbnail", "THUMBNAIL"),
+    CATEGORY_ID("categoryId", "CATEGORY_ID");
+
+    public static final Set<ProductField> ALL = Collections.unmodifiableSet(EnumSet.allOf(ProductField.class));
+
+    private final String parameter;
+    private final String column;
+
+    ProductField(String parameter, String column) {
+        this.parameter = parameter;
+        this.column = column;
+    }
+
+    public static Set<ProductField> fromParameter(String parameter) {
+        if (parameter == null || parameter.isBlank()) {
+            return ALL;
+        }
+        EnumSet<ProductField> fields = EnumSet.of(ID);
+        for (String name : parameter.split(",")) {
+            fields.add(fromName(name.trim()));
+        }
+        return fields.size() == ALL.size() ? ALL : Collections.unmodifiableSet(fields);
+    }
+
+    private static ProductField fromName(String name) {
+        for (ProductField field : values()) {
+            if (field.parameter.equalsIgnoreCase(name)) {
+                return field;
+            }
+        }
+        StringJoiner allowed = new StringJoiner(", ");
+        for (ProductField field : values()) {
+            allowed.add(field.parameter);
+        }
+        throw new IllegalArgumentException("Invalid fields, allowed values: " + allowed + ".");
+    }
+
+    public static String toColumnList(Set<ProductField> fields) {
+        if (fields.containsAll(ALL)) {
+            return "*";
+        }
+        StringJoiner columns = new StringJoiner(", ");
+        columns.add(ID.column);
+        for (ProductField field : fields) {
+            if (field != ID) {
+                columns.add(field.column);
+            }
+        }
+        return columns.toString();
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+}
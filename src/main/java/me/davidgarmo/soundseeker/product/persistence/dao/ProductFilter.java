@@ -0,0 +1,37 @@
+package me.davidgarmo.soundseeker.product.persistence.dao;
+
+public record ProductFilter(Long categoryId, String brand, Double minPrice, Double maxPrice, Boolean available,
+                            Sort sort, int limit) {
+
+    public enum Sort {
+        ID_ASC("id", "ID"),
+        PRICE_ASC("price", "PRICE, ID"),
+        PRICE_DESC("-price", "PRICE DESC, ID"),
+        NAME_ASC("name", "NAME"),
+        NAME_DESC("-name", "NAME DESC");
+
+        private final String parameter;
+        private final String orderBy;
+
+        Sort(String parameter, String orderBy) {
+            this.parameter = parameter;
+            this.orderBy = orderBy;
+        }
+
+        public static Sort fromParameter(String parameter) {
+            if (parameter == null || parameter.isBlank()) {
+                return ID_ASC;
+            }
+            for (Sort sort : values()) {
+                if (sort.parameter.equalsIgnoreCase(parameter.trim())) {
+                    return sort;
+                }
+            }
+            throw new IllegalArgumentException("Invalid sort, allowed values: id, price, -price, name, -name.");
+        }
+
+        public String getOrderBy() {
+            return orderBy;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package me.davidgarmo.soundseeker.product.persistence.dao;
+
+public record WriteOutcome<T>(T value, RuntimeException failure) {
+
+    public static <T> WriteOutcome<T> succeeded(T value) {
+        return new WriteOutcome<>(value, null);
+    }
+
+    public static <T> WriteOutcome<T> failed(RuntimeException failure) {
+        return new WriteOutcome<>(null, failure);
+    }
+}
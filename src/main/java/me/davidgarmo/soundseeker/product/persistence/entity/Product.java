@@ -11,6 +11,7 @@ public class Product {
     private Boolean available;
     private String thumbnail;
     private Long categoryId;
+    private transient Long version;
 
     public Product(String name, String description, String brand, Double price, Boolean available, String thumbnail, Long categoryId) {
         this.name = name;
@@ -97,6 +98,14 @@ public class Product {
         this.categoryId = categoryId;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return String.format(Locale.ENGLISH,
@@ -0,0 +1,236 @@
+package me.davidgarmo.soundseeker.product.persistence.impl;
+
+import me.davidgarmo.soundseeker.product.persistence.dao.IProductDao;
+import me.davidgarmo.soundseeker.product.persistence.dao.Page;
+import me.davidgarmo.soundseeker.product.persistence.dao.ProductField;
+import me.davidgarmo.soundseeker.product.persistence.dao.ProductFilter;
+import me.davidgarmo.soundseeker.product.persistence.dao.WriteOutcome;
+import me.davidgarmo.soundseeker.product.persistence.entity.Product;
+import me.davidgarmo.soundseeker.product.service.expection.ProductNotFoundException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+public class CachingProductDao implements IProductDao {
+    public static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofSeconds(5);
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private final IProductDao delegate;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final Map<Long, Entry> entries;
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CachingProductDao(IProductDao delegate, int maxEntries, Duration ttl) {
+        this(delegate, maxEntries, ttl, DEFAULT_NEGATIVE_TTL.compareTo(ttl) < 0 ? DEFAULT_NEGATIVE_TTL : ttl);
+    }
+
+    public CachingProductDao(IProductDao delegate, int maxEntries, Duration ttl, Duration negativeTtl) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Cache max entries must be greater than 0.");
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Cache TTL must be greater than 0.");
+        }
+        if (negativeTtl == null || negativeTtl.isNegative() || negativeTtl.isZero()) {
+            throw new IllegalArgumentException("Cache negative TTL must be greater than 0.");
+        }
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > CachingProductDao.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    private static Product copyOf(Product product) {
+        Product copy = new Product(product.getId(), product.getName(), product.getDescription(), product.getBrand(),
+                product.getPrice(), product.getAvailable(), product.getThumbnail(), product.getCategoryId());
+        copy.setVersion(product.getVersion());
+        return copy;
+    }
+
+    @Override
+    public Product save(Product product) {
+        Product savedProduct = delegate.save(product);
+        if (savedProduct != null) {
+            invalidate(savedProduct.getId());
+        }
+        return savedProduct;
+    }
+
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        List<Product> savedProducts = delegate.saveAll(products);
+        savedProducts.stream().filter(Objects::nonNull).forEach(product -> invalidate(product.getId()));
+        return savedProducts;
+    }
+
+    @Override
+    public Product findById(Long id) {
+        Entry entry = lookup(id);
+        if (entry != null) {
+            hits.increment();
+            if (entry.product() == null) {
+                throw new ProductNotFoundException("✘ Product not found with ID: " + id);
+            }
+            return copyOf(entry.product());
+        }
+
+        misses.increment();
+        long observedGeneration = generation.get();
+        try {
+            Product product = delegate.findById(id);
+            store(id, copyOf(product), observedGeneration);
+            return product;
+        } catch (ProductNotFoundException e) {
+            store(id, null, observedGeneration);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public void streamAll(Consumer<? super Product> consumer) {
+        delegate.streamAll(consumer);
+    }
+
+    @Override
+    public void streamAll(Set<ProductField> fields, Consumer<? super Product> consumer) {
+        delegate.streamAll(fields, consumer);
+    }
+
+    @Override
+    public Page<Product> findPage(Long afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public Page<Product> findPage(Long afterId, int limit, Set<ProductField> fields) {
+        return delegate.findPage(afterId, limit, fields);
+    }
+
+    @Override
+    public List<Product> findByFilter(ProductFilter filter) {
+        return delegate.findByFilter(filter);
+    }
+
+    @Override
+    public List<Product> findByFilter(ProductFilter filter, Set<ProductField> fields) {
+        return delegate.findByFilter(filter, fields);
+    }
+
+    @Override
+    public Product update(Product product) {
+        try {
+            return delegate.update(product);
+        } finally {
+            invalidate(product.getId());
+        }
+    }
+
+    @Override
+    public List<WriteOutcome<Product>> updateAll(List<Product> products) {
+        List<WriteOutcome<Product>> updatedProducts = delegate.updateAll(products);
+        products.forEach(product -> invalidate(product.getId()));
+        return updatedProducts;
+    }
+
+    @Override
+    public void delete(Long id) {
+        delete(id, null);
+    }
+
+    @Override
+    public void delete(Long id, Long expectedVersion) {
+        try {
+            delegate.delete(id, expectedVersion);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        synchronized (entries) {
+            entries.clear();
+        }
+        LOGGER.debug("✔ Product cache cleared.");
+    }
+
+    private Entry lookup(Long id) {
+        synchronized (entries) {
+            Entry entry = entries.get(id);
+            if (entry != null && entry.expiresAt() - System.nanoTime() <= 0) {
+                entries.remove(id);
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    private void store(Long id, Product product, long observedGeneration) {
+        synchronized (entries) {
+            if (generation.get() == observedGeneration) {
+                entries.put(id, new Entry(product, System.nanoTime() + (product == null ? negativeTtlNanos : ttlNanos)));
+            }
+        }
+    }
+
+    private void invalidate(Long id) {
+        if (id == null) {
+            return;
+        }
+        generation.incrementAndGet();
+        synchronized (entries) {
+            entries.remove(id);
+        }
+        LOGGER.debug("✔ Product {} evicted from cache after a write.", id);
+    }
+
+    private record Entry(Product product, long expiresAt) {
+    }
+}
@@ -1,23 +1,49 @@
 package me.davidgarmo.soundseeker.product.persistence.impl;
 
 import me.davidgarmo.soundseeker.product.config.DBConnection;
-import me.davidgarmo.soundseeker.product.persistence.dao.IDao;
+import me.davidgarmo.soundseeker.product.persistence.dao.IProductDao;
+import me.davidgarmo.soundseeker.product.persistence.dao.Page;
+import me.davidgarmo.soundseeker.product.persistence.dao.PageCursor;
+import me.davidgarmo.soundseeker.product.persistence.dao.ProductField;
+import me.davidgarmo.soundseeker.product.persistence.dao.ProductFilter;
+import me.davidgarmo.soundseeker.product.persistence.dao.WriteOutcome;
 import me.davidgarmo.soundseeker.product.persistence.entity.Product;
 import me.davidgarmo.soundseeker.product.service.expection.ProductNotFoundException;
+import me.davidgarmo.soundseeker.product.service.expection.ProductPersistenceException;
+import me.davidgarmo.soundseeker.product.service.expection.ProductVersionConflictException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
 
-public class ProductDaoH2 implements IDao<Product> {
+public class ProductDaoH2 implements IProductDao {
     private static final Logger LOGGER = LogManager.getLogger();
     private static final String SQL_INSERT = "INSERT INTO PRODUCT (NAME, DESCRIPTION, BRAND, PRICE, AVAILABLE, THUMBNAIL, CATEGORY_ID) VALUES (?, ?, ?, ?, ?, ?, ?)";
     private static final String SQL_SELECT_BY_ID = "SELECT * FROM PRODUCT WHERE ID = ?";
-    private static final String SQL_SELECT_ALL = "SELECT * FROM PRODUCT";
-    private static final String SQL_UPDATE = "UPDATE PRODUCT SET NAME = ?, DESCRIPTION = ?, BRAND = ?, PRICE = ?, AVAILABLE = ?, THUMBNAIL = ?, CATEGORY_ID = ? WHERE ID = ?";
+    private static final String SQL_SELECT_ALL = "SELECT %s FROM PRODUCT";
+    private static final String SQL_LAZY_EXECUTION_ON = "SET LAZY_QUERY_EXECUTION TRUE";
+    private static final String SQL_LAZY_EXECUTION_OFF = "SET LAZY_QUERY_EXECUTION FALSE";
+    private static final int STREAM_FETCH_SIZE = 500;
+    private static final String SQL_SELECT_PAGE = "SELECT %s FROM PRODUCT WHERE ID > ? ORDER BY ID LIMIT ?";
+    private static final String SQL_SELECT_FILTERED = "SELECT %s FROM PRODUCT";
+    private static final String SQL_SELECT_VERSION = "SELECT VERSION FROM PRODUCT WHERE ID = ?";
+    private static final String SQL_UPDATE = "UPDATE PRODUCT SET NAME = ?, DESCRIPTION = ?, BRAND = ?, PRICE = ?, AVAILABLE = ?, THUMBNAIL = ?, CATEGORY_ID = ?, VERSION = VERSION + 1 WHERE ID = ?";
+    private static final String SQL_UPDATE_RETURNING_VERSION = "SELECT VERSION FROM FINAL TABLE (" + SQL_UPDATE + ")";
+    private static final String SQL_UPDATE_IF_VERSION_RETURNING_VERSION = "SELECT VERSION FROM FINAL TABLE (" + SQL_UPDATE + " AND VERSION = ?)";
+    private static final String SQL_UPDATE_IF_EXPECTED_VERSION = SQL_UPDATE + " AND VERSION = COALESCE(?, VERSION)";
+    private static final String SQL_SELECT_VERSIONS = "SELECT ID, VERSION FROM PRODUCT WHERE ID = ANY(?)";
     private static final String SQL_DELETE = "DELETE FROM PRODUCT WHERE ID = ?";
+    private static final String SQL_DELETE_IF_VERSION = "DELETE FROM PRODUCT WHERE ID = ? AND VERSION = ?";
+    private static final int BATCH_CHUNK_SIZE = 500;
 
     private static void rollbackTransaction(Connection connection) {
         if (connection != null) {
@@ -51,6 +77,7 @@ public class ProductDaoH2 implements IDao<Product> {
             generatedKeys = preparedStatement.getGeneratedKeys();
             if (generatedKeys.next()) {
                 product.setId(generatedKeys.getLong(1));
+                product.setVersion(0L);
                 connection.commit();
                 LOGGER.debug("✔ Product saved successfully: \n{}", product);
                 return product;
@@ -66,6 +93,38 @@ public class ProductDaoH2 implements IDao<Product> {
         }
     }
 
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        List<Product> results = new ArrayList<>(Collections.nCopies(products.size(), null));
+        Connection connection = null;
+
+        try {
+            connection = DBConnection.getConnection();
+            connection.setAutoCommit(false);
+
+            for (int from = 0; from < products.size(); from += BATCH_CHUNK_SIZE) {
+                int to = Math.min(from + BATCH_CHUNK_SIZE, products.size());
+                try {
+                    insertChunk(connection, products, from, to, results);
+                } catch (SQLException e) {
+                    LOGGER.warn("✘ Batch insert of products {} to {} failed, retrying one by one: {}", from, to - 1, e.getMessage());
+                    rollbackTransaction(connection);
+                    for (int i = from; i < to; i++) {
+                        results.set(i, insertSingle(connection, products.get(i)));
+                    }
+                }
+            }
+            LOGGER.debug("✔ Saved {} of {} products in batch", results.stream().filter(Objects::nonNull).count(), products.size());
+        } catch (Exception e) {
+            LOGGER.error("✘ Error saving products in batch: {}", e.getMessage());
+            rollbackTransaction(connection);
+        } finally {
+            closeResources(null, null, connection);
+        }
+
+        return results;
+    }
+
     @Override
     public Product findById(Long id) {
         Connection connection = null;
@@ -83,8 +142,9 @@ public class ProductDaoH2 implements IDao<Product> {
                 LOGGER.debug("✔ Product found successfully: \n{}", product);
                 return product;
             }
-        } catch (Exception e) {
+        } catch (SQLException e) {
             LOGGER.error("✘ Error finding product by ID: {}", e.getMessage());
+            throw new ProductPersistenceException("✘ Error finding product by ID: " + id, e);
         } finally {
             closeResources(resultSet, preparedStatement, connection);
         }
@@ -102,14 +162,15 @@ public class ProductDaoH2 implements IDao<Product> {
         try {
             connection = DBConnection.getConnection();
             statement = connection.createStatement();
-            resultSet = statement.executeQuery(SQL_SELECT_ALL);
+            resultSet = statement.executeQuery(SQL_SELECT_ALL.formatted("*"));
 
             while (resultSet.next()) {
                 products.add(mapResultSetToProduct(resultSet));
             }
             LOGGER.debug("✔ Found {} products successfully", products.size());
-        } catch (Exception e) {
+        } catch (SQLException e) {
             LOGGER.error("✘ Error finding all products: {}", e.getMessage());
+            throw new ProductPersistenceException("✘ Error finding all products.", e);
         } finally {
             if (statement != null) {
                 try {
@@ -124,39 +185,214 @@ public class ProductDaoH2 implements IDao<Product> {
         return products;
     }
 
+    @Override
+    public void streamAll(Consumer<? super Product> consumer) {
+        streamAll(ProductField.ALL, consumer);
+    }
+
+    @Override
+    public void streamAll(Set<ProductField> fields, Consumer<? super Product> consumer) {
+        Connection connection = null;
+        Statement statement = null;
+        ResultSet resultSet = null;
+        int count = 0;
+
+        try {
+            connection = DBConnection.getConnection();
+            statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.execute(SQL_LAZY_EXECUTION_ON);
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            resultSet = statement.executeQuery(SQL_SELECT_ALL.formatted(ProductField.toColumnList(fields)));
+
+            while (resultSet.next()) {
+                consumer.accept(mapResultSetToProduct(resultSet, fields));
+                count++;
+            }
+            LOGGER.debug("✔ Streamed {} products successfully", count);
+        } catch (SQLException e) {
+            LOGGER.error("✘ Error streaming all products after {} rows: {}", count, e.getMessage());
+            throw new ProductPersistenceException("✘ Error streaming all products after " + count + " rows.", e);
+        } finally {
+            if (resultSet != null) {
+                try {
+                    resultSet.close();
+                } catch (SQLException e) {
+                    LOGGER.error("✘ Error closing ResultSet: {}", e.getMessage());
+                }
+            }
+            if (statement != null) {
+                try {
+                    statement.execute(SQL_LAZY_EXECUTION_OFF);
+                } catch (SQLException e) {
+                    LOGGER.error("✘ Error resetting lazy query execution, evicting the connection: {}", e.getMessage());
+                    DBConnection.evictConnection(connection);
+                } finally {
+                    try {
+                        statement.close();
+                    } catch (SQLException e) {
+                        LOGGER.error("✘ Error closing Statement: {}", e.getMessage());
+                    }
+                }
+            }
+            closeResources(null, null, connection);
+        }
+    }
+
+    @Override
+    public Page<Product> findPage(Long afterId, int limit) {
+        return findPage(afterId, limit, ProductField.ALL);
+    }
+
+    @Override
+    public Page<Product> findPage(Long afterId, int limit, Set<ProductField> fields) {
+        List<Product> products = new ArrayList<>(limit);
+        Connection connection = null;
+        PreparedStatement preparedStatement = null;
+        ResultSet resultSet = null;
+        String nextCursor = null;
+
+        try {
+            connection = DBConnection.getConnection();
+            preparedStatement = connection.prepareStatement(SQL_SELECT_PAGE.formatted(ProductField.toColumnList(fields)));
+            preparedStatement.setLong(1, afterId == null ? 0L : afterId);
+            preparedStatement.setInt(2, limit + 1);
+
+            resultSet = preparedStatement.executeQuery();
+            while (resultSet.next()) {
+                if (products.size() == limit) {
+                    nextCursor = PageCursor.encode(products.get(limit - 1).getId());
+                    break;
+                }
+                products.add(mapResultSetToProduct(resultSet, fields));
+            }
+            LOGGER.debug("✔ Found a page of {} products after ID {}", products.size(), afterId);
+        } catch (SQLException e) {
+            LOGGER.error("✘ Error finding page of products: {}", e.getMessage());
+            throw new ProductPersistenceException("✘ Error finding page of products after ID: " + afterId, e);
+        } finally {
+            closeResources(resultSet, preparedStatement, connection);
+        }
+
+        return new Page<>(products, nextCursor);
+    }
+
+    @Override
+    public List<Product> findByFilter(ProductFilter filter) {
+        return findByFilter(filter, ProductField.ALL);
+    }
+
+    @Override
+    public List<Product> findByFilter(ProductFilter filter, Set<ProductField> fields) {
+        List<Product> products = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>();
+        String sql = buildFilterQuery(filter, fields, parameters);
+        Connection connection = null;
+        PreparedStatement preparedStatement = null;
+        ResultSet resultSet = null;
+
+        try {
+            connection = DBConnection.getConnection();
+            preparedStatement = connection.prepareStatement(sql);
+            bindParameters(preparedStatement, parameters);
+
+            resultSet = preparedStatement.executeQuery();
+            while (resultSet.next()) {
+                products.add(mapResultSetToProduct(resultSet, fields));
+            }
+            LOGGER.debug("✔ Found {} products matching {}", products.size(), filter);
+        } catch (SQLException e) {
+            LOGGER.error("✘ Error finding filtered products: {}", e.getMessage());
+            throw new ProductPersistenceException("✘ Error finding products matching " + filter, e);
+        } finally {
+            closeResources(resultSet, preparedStatement, connection);
+        }
+
+        return products;
+    }
+
     @Override
     public Product update(Product product) {
         Connection connection = null;
         PreparedStatement preparedStatement = null;
+        ResultSet resultSet = null;
+        Long expectedVersion = product.getVersion();
 
         try {
             connection = DBConnection.getConnection();
             connection.setAutoCommit(false);
 
-            preparedStatement = connection.prepareStatement(SQL_UPDATE);
+            preparedStatement = connection.prepareStatement(expectedVersion == null
+                    ? SQL_UPDATE_RETURNING_VERSION
+                    : SQL_UPDATE_IF_VERSION_RETURNING_VERSION);
             mapProductToPreparedStatement(product, preparedStatement);
             preparedStatement.setLong(8, product.getId());
+            if (expectedVersion != null) {
+                preparedStatement.setLong(9, expectedVersion);
+            }
 
-            int updatedRows = preparedStatement.executeUpdate();
-            if (updatedRows > 0) {
+            resultSet = preparedStatement.executeQuery();
+            if (resultSet.next()) {
+                product.setVersion(resultSet.getLong(1));
                 connection.commit();
                 LOGGER.debug("✔ Product updated successfully: \n{}", product);
                 return product;
-            } else {
-                LOGGER.warn("✘ No product found to update with ID: {}", product.getId());
-                return null;
             }
+            throw missingOrConflicting(connection, product.getId(), expectedVersion);
+        } catch (ProductNotFoundException | ProductVersionConflictException e) {
+            LOGGER.warn(e.getMessage());
+            rollbackTransaction(connection);
+            throw e;
         } catch (Exception e) {
             LOGGER.error("✘ Error updating product: {}", e.getMessage());
             rollbackTransaction(connection);
             return null;
         } finally {
-            closeResources(null, preparedStatement, connection);
+            closeResources(resultSet, preparedStatement, connection);
         }
     }
 
+    @Override
+    public List<WriteOutcome<Product>> updateAll(List<Product> products) {
+        List<WriteOutcome<Product>> results = new ArrayList<>(Collections.nCopies(products.size(), null));
+        Connection connection = null;
+
+        try {
+            connection = DBConnection.getConnection();
+            connection.setAutoCommit(false);
+
+            for (int from = 0; from < products.size(); from += BATCH_CHUNK_SIZE) {
+                int to = Math.min(from + BATCH_CHUNK_SIZE, products.size());
+                try {
+                    updateChunk(connection, products, from, to, results);
+                } catch (SQLException e) {
+                    LOGGER.warn("✘ Batch update of products {} to {} failed, retrying one by one: {}", from, to - 1, e.getMessage());
+                    rollbackTransaction(connection);
+                    for (int i = from; i < to; i++) {
+                        results.set(i, updateSingle(connection, products.get(i)));
+                    }
+                }
+            }
+            LOGGER.debug("✔ Updated {} of {} products in batch",
+                    results.stream().filter(result -> result.value() != null).count(), products.size());
+        } catch (Exception e) {
+            LOGGER.error("✘ Error updating products in batch: {}", e.getMessage());
+            rollbackTransaction(connection);
+            ProductPersistenceException failure = new ProductPersistenceException("✘ Error updating products in batch.", e);
+            results.replaceAll(result -> result == null ? WriteOutcome.failed(failure) : result);
+        } finally {
+            closeResources(null, null, connection);
+        }
+
+        return results;
+    }
+
     @Override
     public void delete(Long id) {
+        delete(id, null);
+    }
+
+    @Override
+    public void delete(Long id, Long expectedVersion) {
         Connection connection = null;
         PreparedStatement preparedStatement = null;
 
@@ -164,24 +400,206 @@ public class ProductDaoH2 implements IDao<Product> {
             connection = DBConnection.getConnection();
             connection.setAutoCommit(false);
 
-            preparedStatement = connection.prepareStatement(SQL_DELETE);
+            preparedStatement = connection.prepareStatement(expectedVersion == null ? SQL_DELETE : SQL_DELETE_IF_VERSION);
             preparedStatement.setLong(1, id);
+            if (expectedVersion != null) {
+                preparedStatement.setLong(2, expectedVersion);
+            }
 
             int deletedRows = preparedStatement.executeUpdate();
-            if (deletedRows > 0) {
-                connection.commit();
-                LOGGER.debug("✔ Product deleted successfully: {}", id);
-            } else {
-                LOGGER.warn("✘ No product found to delete with ID: {}", id);
+            if (deletedRows == 0) {
+                throw missingOrConflicting(connection, id, expectedVersion);
             }
-        } catch (Exception e) {
+            connection.commit();
+            LOGGER.debug("✔ Product deleted successfully: {}", id);
+        } catch (ProductNotFoundException | ProductVersionConflictException e) {
+            LOGGER.warn(e.getMessage());
+            rollbackTransaction(connection);
+            throw e;
+        } catch (SQLException e) {
             LOGGER.error("✘ Error deleting product: {}", e.getMessage());
             rollbackTransaction(connection);
+            throw new ProductPersistenceException("✘ Error deleting product with ID: " + id, e);
         } finally {
             closeResources(null, preparedStatement, connection);
         }
     }
 
+    private RuntimeException missingOrConflicting(Connection connection, Long id, Long expectedVersion) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(SQL_SELECT_VERSION)) {
+            preparedStatement.setLong(1, id);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                if (resultSet.next()) {
+                    return new ProductVersionConflictException("✘ Product with ID " + id + " is at version "
+                            + resultSet.getLong(1) + ", expected version " + expectedVersion + ".");
+                }
+            }
+        }
+        return new ProductNotFoundException("✘ Product not found with ID: " + id);
+    }
+
+    private void insertChunk(Connection connection, List<Product> products, int from, int to, List<Product> results) throws SQLException {
+        long[] generatedIds = new long[to - from];
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(SQL_INSERT, Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = from; i < to; i++) {
+                mapProductToPreparedStatement(products.get(i), preparedStatement);
+                preparedStatement.addBatch();
+            }
+            preparedStatement.executeBatch();
+
+            try (ResultSet generatedKeys = preparedStatement.getGeneratedKeys()) {
+                for (int i = 0; i < generatedIds.length; i++) {
+                    if (!generatedKeys.next()) {
+                        throw new SQLException("✘ Creating products failed, not every ID was obtained.");
+                    }
+                    generatedIds[i] = generatedKeys.getLong(1);
+                }
+            }
+        }
+
+        connection.commit();
+        for (int i = from; i < to; i++) {
+            Product product = products.get(i);
+            product.setId(generatedIds[i - from]);
+            product.setVersion(0L);
+            results.set(i, product);
+        }
+    }
+
+    private Product insertSingle(Connection connection, Product product) {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(SQL_INSERT, Statement.RETURN_GENERATED_KEYS)) {
+            mapProductToPreparedStatement(product, preparedStatement);
+            preparedStatement.executeUpdate();
+
+            try (ResultSet generatedKeys = preparedStatement.getGeneratedKeys()) {
+                if (!generatedKeys.next()) {
+                    throw new SQLException("✘ Creating product failed, no ID obtained.");
+                }
+                connection.commit();
+                product.setId(generatedKeys.getLong(1));
+                product.setVersion(0L);
+                return product;
+            }
+        } catch (SQLException e) {
+            LOGGER.error("✘ Error saving product \"{}\": {}", product.getName(), e.getMessage());
+            rollbackTransaction(connection);
+            return null;
+        }
+    }
+
+    private void updateChunk(Connection connection, List<Product> products, int from, int to,
+                             List<WriteOutcome<Product>> results) throws SQLException {
+        int[] updatedRows;
+        Long[] ids = new Long[to - from];
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(SQL_UPDATE_IF_EXPECTED_VERSION)) {
+            for (int i = from; i < to; i++) {
+                Product product = products.get(i);
+                mapProductToPreparedStatement(product, preparedStatement);
+                preparedStatement.setLong(8, product.getId());
+                preparedStatement.setObject(9, product.getVersion(), Types.BIGINT);
+                preparedStatement.addBatch();
+                ids[i - from] = product.getId();
+            }
+            updatedRows = preparedStatement.executeBatch();
+        }
+
+        Map<Long, Long> versions = new HashMap<>();
+        try (PreparedStatement preparedStatement = connection.prepareStatement(SQL_SELECT_VERSIONS)) {
+            preparedStatement.setArray(1, connection.createArrayOf("BIGINT", ids));
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    versions.put(resultSet.getLong(1), resultSet.getLong(2));
+                }
+            }
+        }
+
+        connection.commit();
+        for (int i = from; i < to; i++) {
+            Product product = products.get(i);
+            Long currentVersion = versions.get(product.getId());
+            if (updatedRows[i - from] > 0) {
+                product.setVersion(currentVersion);
+                results.set(i, WriteOutcome.succeeded(product));
+            } else if (currentVersion != null) {
+                LOGGER.warn("✘ Product with ID {} is at version {}, expected version {}.", product.getId(), currentVersion, product.getVersion());
+                results.set(i, WriteOutcome.failed(new ProductVersionConflictException("✘ Product with ID " + product.getId()
+                        + " is at version " + currentVersion + ", expected version " + product.getVersion() + ".")));
+            } else {
+                LOGGER.warn("✘ No product found to update with ID: {}", product.getId());
+                results.set(i, WriteOutcome.failed(new ProductNotFoundException("✘ Product not found with ID: " + product.getId())));
+            }
+        }
+    }
+
+    private WriteOutcome<Product> updateSingle(Connection connection, Product product) {
+        Long expectedVersion = product.getVersion();
+        try (PreparedStatement preparedStatement = connection.prepareStatement(expectedVersion == null
+                ? SQL_UPDATE_RETURNING_VERSION
+                : SQL_UPDATE_IF_VERSION_RETURNING_VERSION)) {
+            mapProductToPreparedStatement(product, preparedStatement);
+            preparedStatement.setLong(8, product.getId());
+            if (expectedVersion != null) {
+                preparedStatement.setLong(9, expectedVersion);
+            }
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                if (resultSet.next()) {
+                    product.setVersion(resultSet.getLong(1));
+                    connection.commit();
+                    return WriteOutcome.succeeded(product);
+                }
+            }
+            RuntimeException failure = missingOrConflicting(connection, product.getId(), expectedVersion);
+            LOGGER.warn(failure.getMessage());
+            rollbackTransaction(connection);
+            return WriteOutcome.failed(failure);
+        } catch (SQLException e) {
+            LOGGER.error("✘ Error updating product with ID {}: {}", product.getId(), e.getMessage());
+            rollbackTransaction(connection);
+            return WriteOutcome.failed(new ProductPersistenceException("✘ Error updating product with ID: " + product.getId(), e));
+        }
+    }
+
+    static String buildFilterQuery(ProductFilter filter, List<Object> parameters) {
+        return buildFilterQuery(filter, ProductField.ALL, parameters);
+    }
+
+    static String buildFilterQuery(ProductFilter filter, Set<ProductField> fields, List<Object> parameters) {
+        StringJoiner conditions = new StringJoiner(" AND ", " WHERE ", "").setEmptyValue("");
+        if (filter.categoryId() != null) {
+            conditions.add("CATEGORY_ID = ?");
+            parameters.add(filter.categoryId());
+        }
+        if (filter.brand() != null) {
+            conditions.add("BRAND = ?");
+            parameters.add(filter.brand());
+        }
+        if (filter.available() != null) {
+            conditions.add("AVAILABLE = ?");
+            parameters.add(filter.available());
+        }
+        if (filter.minPrice() != null) {
+            conditions.add("PRICE >= ?");
+            parameters.add(filter.minPrice());
+        }
+        if (filter.maxPrice() != null) {
+            conditions.add("PRICE <= ?");
+            parameters.add(filter.maxPrice());
+        }
+        parameters.add(filter.limit());
+
+        ProductFilter.Sort sort = filter.sort() == null ? ProductFilter.Sort.ID_ASC : filter.sort();
+        return SQL_SELECT_FILTERED.formatted(ProductField.toColumnList(fields)) + conditions + " ORDER BY " + sort.getOrderBy() + " LIMIT ?";
+    }
+
+    static void bindParameters(PreparedStatement preparedStatement, List<Object> parameters) throws SQLException {
+        for (int i = 0; i < parameters.size(); i++) {
+            preparedStatement.setObject(i + 1, parameters.get(i));
+        }
+    }
+
     private void mapProductToPreparedStatement(Product product, PreparedStatement preparedStatement) throws SQLException {
         preparedStatement.setString(1, product.getName());
         preparedStatement.setString(2, product.getDescription());
@@ -193,7 +611,7 @@ public class ProductDaoH2 implements IDao<Product> {
     }
 
     private Product mapResultSetToProduct(ResultSet resultSet) throws SQLException {
-        return new Product(
+        Product product = new Product(
                 resultSet.getLong("ID"),
                 resultSet.getString("NAME"),
                 resultSet.getString("DESCRIPTION"),
@@ -203,6 +621,29 @@ public class ProductDaoH2 implements IDao<Product> {
                 resultSet.getString("THUMBNAIL"),
                 resultSet.getLong("CATEGORY_ID")
         );
+        product.setVersion(resultSet.getLong("VERSION"));
+        return product;
+    }
+
+    private Product mapResultSetToProduct(ResultSet resultSet, Set<ProductField> fields) throws SQLException {
+        if (fields.containsAll(ProductField.ALL)) {
+            return mapResultSetToProduct(resultSet);
+        }
+        Product product = new Product(resultSet.getLong("ID"), null, null, null, null, null, null, null);
+        for (ProductField field : fields) {
+            switch (field) {
+                case NAME -> product.setName(resultSet.getString("NAME"));
+                case DESCRIPTION -> product.setDescription(resultSet.getString("DESCRIPTION"));
+                case BRAND -> product.setBrand(resultSet.getString("BRAND"));
+                case PRICE -> product.setPrice(resultSet.getDouble("PRICE"));
+                case AVAILABLE -> product.setAvailable(resultSet.getBoolean("AVAILABLE"));
+                case THUMBNAIL -> product.setThumbnail(resultSet.getString("THUMBNAIL"));
+                case CATEGORY_ID -> product.setCategoryId(resultSet.getLong("CATEGORY_ID"));
+                default -> {
+                }
+            }
+        }
+        return product;
     }
 
     private void closeResources(ResultSet resultSet, PreparedStatement preparedStatement, Connection connection) {
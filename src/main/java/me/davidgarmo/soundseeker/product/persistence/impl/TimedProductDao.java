@@ -0,0 +1,211 @@
+package me.davidgarmo.soundseeker.product.persistence.impl;
+
+import me.davidgarmo.soundseeker.product.metrics.LatencyHistogram;
+import me.davidgarmo.soundseeker.product.metrics.MetricsRegistry;
+import me.davidgarmo.soundseeker.product.metrics.RequestTrace;
+import me.davidgarmo.soundseeker.product.metrics.jfr.ProductDaoEvent;
+import me.davidgarmo.soundseeker.product.persistence.dao.IProductDao;
+import me.davidgarmo.soundseeker.product.persistence.dao.Page;
+import me.davidgarmo.soundseeker.product.persistence.dao.ProductField;
+import me.davidgarmo.soundseeker.product.persistence.dao.ProductFilter;
+import me.davidgarmo.soundseeker.product.persistence.dao.WriteOutcome;
+import me.davidgarmo.soundseeker.product.persistence.entity.Product;
+import me.davidgarmo.soundseeker.product.service.expection.ProductNotFoundException;
+import me.davidgarmo.soundseeker.product.service.expection.ProductPersistenceException;
+import me.davidgarmo.soundseeker.product.service.expection.ProductVersionConflictException;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+public class TimedProductDao implements IProductDao {
+    private static final String DURATION = "soundseeker_dao_operation_duration_seconds";
+    private static final String DURATION_HELP = "Time spent in each product DAO operation.";
+    private static final String ERRORS = "soundseeker_dao_operation_errors_total";
+    private static final String ERRORS_HELP = "Product DAO operations that failed in the database.";
+
+    private final IProductDao delegate;
+    private final Operation save;
+    private final Operation saveAll;
+    private final Operation findById;
+    private final Operation findAll;
+    private final Operation streamAll;
+    private final Operation findPage;
+    private final Operation findByFilter;
+    private final Operation update;
+    private final Operation updateAll;
+    private final Operation delete;
+
+    public TimedProductDao(IProductDao delegate, MetricsRegistry registry) {
+        this.delegate = delegate;
+        this.save = new Operation(registry, "save");
+        this.saveAll = new Operation(registry, "saveAll");
+        this.findById = new Operation(registry, "findById");
+        this.findAll = new Operation(registry, "findAll");
+        this.streamAll = new Operation(registry, "streamAll");
+        this.findPage = new Operation(registry, "findPage");
+        this.findByFilter = new Operation(registry, "findByFilter");
+        this.update = new Operation(registry, "update");
+        this.updateAll = new Operation(registry, "updateAll");
+        this.delete = new Operation(registry, "delete");
+    }
+
+    @Override
+    public Product save(Product product) {
+        return save.time(null, () -> delegate.save(product), Objects::isNull);
+    }
+
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        return saveAll.time(null, () -> delegate.saveAll(products), saved -> saved.contains(null));
+    }
+
+    @Override
+    public Product findById(Long id) {
+        return findById.time(id, () -> delegate.findById(id));
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return findAll.time(null, delegate::findAll);
+    }
+
+    @Override
+    public void streamAll(Consumer<? super Product> consumer) {
+        streamAll(ProductField.ALL, consumer);
+    }
+
+    @Override
+    public void streamAll(Set<ProductField> fields, Consumer<? super Product> consumer) {
+        long[] consumerNanos = {0L};
+        streamAll.time(null, () -> {
+            int[] rows = {0};
+            delegate.streamAll(fields, product -> {
+                rows[0]++;
+                long start = System.nanoTime();
+                try {
+                    consumer.accept(product);
+                } finally {
+                    consumerNanos[0] += System.nanoTime() - start;
+                }
+            });
+            return rows[0];
+        }, rows -> false, () -> consumerNanos[0]);
+    }
+
+    @Override
+    public Page<Product> findPage(Long afterId, int limit) {
+        return findPage.time(afterId, () -> delegate.findPage(afterId, limit));
+    }
+
+    @Override
+    public Page<Product> findPage(Long afterId, int limit, Set<ProductField> fields) {
+        return findPage.time(afterId, () -> delegate.findPage(afterId, limit, fields));
+    }
+
+    @Override
+    public List<Product> findByFilter(ProductFilter filter) {
+        return findByFilter.time(null, () -> delegate.findByFilter(filter));
+    }
+
+    @Override
+    public List<Product> findByFilter(ProductFilter filter, Set<ProductField> fields) {
+        return findByFilter.time(null, () -> delegate.findByFilter(filter, fields));
+    }
+
+    @Override
+    public Product update(Product product) {
+        return update.time(product.getId(), () -> delegate.update(product), Objects::isNull);
+    }
+
+    @Override
+    public List<WriteOutcome<Product>> updateAll(List<Product> products) {
+        return updateAll.time(null, () -> delegate.updateAll(products), outcomes -> outcomes.stream()
+                .anyMatch(outcome -> outcome.failure() instanceof ProductPersistenceException));
+    }
+
+    @Override
+    public void delete(Long id) {
+        delete(id, null);
+    }
+
+    @Override
+    public void delete(Long id, Long expectedVersion) {
+        delete.time(id, () -> {
+            delegate.delete(id, expectedVersion);
+            return 1;
+        });
+    }
+
+    private static int rowsOf(Object result) {
+        return switch (result) {
+            case null -> 0;
+            case Integer rows -> rows;
+            case List<?> list -> list.size();
+            case Page<?> page -> page.items().size();
+            default -> 1;
+        };
+    }
+
+    private static final class Operation {
+        private final String name;
+        private final LatencyHistogram duration;
+        private final LongAdder errors;
+
+        private Operation(MetricsRegistry registry, String name) {
+            this.name = name;
+            this.duration = registry.timer(DURATION, DURATION_HELP, "operation", name);
+            this.errors = registry.counter(ERRORS, ERRORS_HELP, "operation", name);
+        }
+
+        private <T> T time(Long productId, Supplier<T> call) {
+            return time(productId, call, result -> false);
+        }
+
+        private <T> T time(Long productId, Supplier<T> call, Predicate<? super T> failedResult) {
+            return time(productId, call, failedResult, () -> 0L);
+        }
+
+        private <T> T time(Long productId, Supplier<T> call, Predicate<? super T> failedResult, LongSupplier excludedNanos) {
+            ProductDaoEvent event = new ProductDaoEvent();
+            event.begin();
+            RequestTrace trace = RequestTrace.current();
+            long poolBefore = trace == null ? 0L : trace.getPhaseNanos(RequestTrace.Phase.POOL);
+            long start = System.nanoTime();
+            T result = null;
+            boolean failed = false;
+            try {
+                result = call.get();
+                failed = failedResult.test(result);
+                return result;
+            } catch (ProductNotFoundException | ProductVersionConflictException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                failed = true;
+                throw e;
+            } finally {
+                if (failed) {
+                    errors.increment();
+                }
+                long elapsed = System.nanoTime() - start - excludedNanos.getAsLong();
+                duration.record(elapsed);
+                if (trace != null) {
+                    trace.add(RequestTrace.Phase.DB, elapsed - (trace.getPhaseNanos(RequestTrace.Phase.POOL) - poolBefore));
+                }
+                event.end();
+                if (event.shouldCommit()) {
+                    event.operation = name;
+                    event.productId = productId == null ? 0L : productId;
+                    event.rows = rowsOf(result);
+                    event.failed = failed;
+                    event.commit();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package me.davidgarmo.soundseeker.product.service;
+
+import me.davidgarmo.soundseeker.product.persistence.entity.Product;
+
+public record BatchItemResult(Status status, Product product, String error) {
+
+    public static BatchItemResult created(Product product) {
+        return new BatchItemResult(Status.CREATED, product, null);
+    }
+
+    public static BatchItemResult updated(Product product) {
+        return new BatchItemResult(Status.UPDATED, product, null);
+    }
+
+    public static BatchItemResult invalid(String error) {
+        return new BatchItemResult(Status.INVALID, null, error);
+    }
+
+    public static BatchItemResult notFound(String error) {
+        return new BatchItemResult(Status.NOT_FOUND, null, error);
+    }
+
+    public static BatchItemResult conflict(String error) {
+        return new BatchItemResult(Status.CONFLICT, null, error);
+    }
+
+    public static BatchItemResult failed(String error) {
+        return new BatchItemResult(Status.FAILED, null, error);
+    }
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        INVALID,
+        NOT_FOUND,
+        CONFLICT,
+        FAILED
+    }
+}
@@ -1,17 +1,44 @@
 package me.davidgarmo.soundseeker.product.service;
 
+import me.davidgarmo.soundseeker.product.persistence.dao.Page;
+import me.davidgarmo.soundseeker.product.persistence.dao.ProductField;
+import me.davidgarmo.soundseeker.product.persistence.dao.ProductFilter;
 import me.davidgarmo.soundseeker.product.persistence.entity.Product;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface IProductService {
     Product save(Product product);
 
+    List<BatchItemResult> saveAll(List<Product> products);
+
     Product findById(Long id);
 
     List<Product> findAll();
 
+    void streamAll(Consumer<? super Product> consumer);
+
+    void streamAll(Set<ProductField> fields, Consumer<? super Product> consumer);
+
+    Page<Product> findPage(String cursor, int limit);
+
+    Page<Product> findPage(String cursor, int limit, Set<ProductField> fields);
+
+    List<Product> findByFilter(ProductFilter filter);
+
+    List<Product> findByFilter(ProductFilter filter, Set<ProductField> fields);
+
     Product update(Product product);
 
+    List<BatchItemResult> updateAll(List<Product> products);
+
     void delete(Long id);
+
+    void delete(Long id, Long expectedVersion);
+
+    void addChangeListener(ProductChangeListener listener);
+
+    long getCatalogVersion();
 }
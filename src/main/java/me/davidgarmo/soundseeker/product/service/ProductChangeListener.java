@@ -0,0 +1,12 @@
+package me.davidgarmo.soundseeker.product.service;
+
+import me.davidgarmo.soundseeker.product.persistence.entity.Product;
+
+public interface ProductChangeListener {
+
+    void onSaved(Product product);
+
+    void onUpdated(Product product);
+
+    void onDeleted(Long id);
+}
@@ -0,0 +1,7 @@
+package me.davidgarmo.soundseeker.product.service.expection;
+
+public class ProductPersistenceException extends RuntimeException {
+    public ProductPersistenceException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
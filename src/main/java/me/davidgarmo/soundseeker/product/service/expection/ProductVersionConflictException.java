@@ -0,0 +1,7 @@
+package me.davidgarmo.soundseeker.product.service.expection;
+
+public class ProductVersionConflictException extends RuntimeException {
+    public ProductVersionConflictException(String message) {
+        super(message);
+    }
+}
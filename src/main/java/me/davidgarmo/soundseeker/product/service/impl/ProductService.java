@@ -1,15 +1,39 @@
 package me.davidgarmo.soundseeker.product.service.impl;
 
-import me.davidgarmo.soundseeker.product.persistence.dao.IDao;
+import me.davidgarmo.soundseeker.product.metrics.RequestTrace;
+import me.davidgarmo.soundseeker.product.persistence.dao.IProductDao;
+import me.davidgarmo.soundseeker.product.persistence.dao.Page;
+import me.davidgarmo.soundseeker.product.persistence.dao.PageCursor;
+import me.davidgarmo.soundseeker.product.persistence.dao.ProductField;
+import me.davidgarmo.soundseeker.product.persistence.dao.ProductFilter;
+import me.davidgarmo.soundseeker.product.persistence.dao.WriteOutcome;
 import me.davidgarmo.soundseeker.product.persistence.entity.Product;
+import me.davidgarmo.soundseeker.product.service.BatchItemResult;
 import me.davidgarmo.soundseeker.product.service.IProductService;
+import me.davidgarmo.soundseeker.product.service.ProductChangeListener;
+import me.davidgarmo.soundseeker.product.service.expection.ProductNotFoundException;
+import me.davidgarmo.soundseeker.product.service.expection.ProductVersionConflictException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 public class ProductService implements IProductService {
-    private final IDao<Product> productIDao;
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_BATCH_SIZE = 5000;
+    public static final int MAX_FILTER_RESULTS = 500;
+    private static final Logger LOGGER = LogManager.getLogger();
+    private final IProductDao productIDao;
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final List<ProductChangeListener> changeListeners = new CopyOnWriteArrayList<>();
 
-    public ProductService(IDao<Product> productIDao) {
+    public ProductService(IProductDao productIDao) {
         this.productIDao = productIDao;
     }
 
@@ -19,7 +43,37 @@ public class ProductService implements IProductService {
         }
     }
 
+    private static void validatePageSize(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+    }
+
+    private static void validateFilter(ProductFilter filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Product filter must be informed.");
+        }
+        if (filter.limit() < 1 || filter.limit() > MAX_FILTER_RESULTS) {
+            throw new IllegalArgumentException("Filter limit must be between 1 and " + MAX_FILTER_RESULTS + ".");
+        }
+        if ((filter.minPrice() != null && filter.minPrice() < 0) || (filter.maxPrice() != null && filter.maxPrice() < 0)) {
+            throw new IllegalArgumentException("Price range cannot be negative.");
+        }
+        if (filter.minPrice() != null && filter.maxPrice() != null && filter.minPrice() > filter.maxPrice()) {
+            throw new IllegalArgumentException("Minimum price cannot be greater than maximum price.");
+        }
+    }
+
+    private static void validateBatchSize(List<Product> products) {
+        if (products == null || products.isEmpty() || products.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch must contain between 1 and " + MAX_BATCH_SIZE + " products.");
+        }
+    }
+
     private static void validateProduct(Product product) {
+        if (product == null) {
+            throw new IllegalArgumentException("Product must be informed.");
+        }
         if (product.getName() == null || product.getName().isEmpty() || product.getName().length() > 60) {
             throw new IllegalArgumentException("Product name cannot be empty or exceed 60 characters.");
         }
@@ -35,7 +89,7 @@ public class ProductService implements IProductService {
         if (product.getAvailable() == null) {
             throw new IllegalArgumentException("Product availability must be informed.");
         }
-        if (product.getThumbnail().length() > 255) {
+        if (product.getThumbnail() != null && product.getThumbnail().length() > 255) {
             throw new IllegalArgumentException("Product thumbnail cannot exceed 255 characters.");
         }
         if (product.getCategoryId() == null) {
@@ -45,8 +99,51 @@ public class ProductService implements IProductService {
 
     @Override
     public Product save(Product product) {
+        long validationStart = RequestTrace.begin();
         validateProduct(product);
-        return productIDao.save(product);
+        RequestTrace.end(RequestTrace.Phase.VALIDATE, validationStart);
+        Product savedProduct = productIDao.save(product);
+        catalogVersion.incrementAndGet();
+        if (savedProduct != null) {
+            notifyListeners(listener -> listener.onSaved(savedProduct));
+        }
+        return savedProduct;
+    }
+
+    @Override
+    public List<BatchItemResult> saveAll(List<Product> products) {
+        validateBatchSize(products);
+        List<BatchItemResult> results = new ArrayList<>(products.size());
+        List<Product> validProducts = new ArrayList<>(products.size());
+        List<Integer> validIndexes = new ArrayList<>(products.size());
+
+        long validationStart = RequestTrace.begin();
+        for (int i = 0; i < products.size(); i++) {
+            try {
+                validateProduct(products.get(i));
+                validProducts.add(products.get(i));
+                validIndexes.add(i);
+                results.add(null);
+            } catch (IllegalArgumentException e) {
+                results.add(BatchItemResult.invalid(e.getMessage()));
+            }
+        }
+        RequestTrace.end(RequestTrace.Phase.VALIDATE, validationStart);
+
+        if (!validProducts.isEmpty()) {
+            List<Product> savedProducts = productIDao.saveAll(validProducts);
+            catalogVersion.incrementAndGet();
+            for (int i = 0; i < savedProducts.size(); i++) {
+                Product savedProduct = savedProducts.get(i);
+                results.set(validIndexes.get(i), savedProduct != null
+                        ? BatchItemResult.created(savedProduct)
+                        : BatchItemResult.failed("Failed to save product."));
+                if (savedProduct != null) {
+                    notifyListeners(listener -> listener.onSaved(savedProduct));
+                }
+            }
+        }
+        return results;
     }
 
     @Override
@@ -60,16 +157,127 @@ public class ProductService implements IProductService {
         return productIDao.findAll();
     }
 
+    @Override
+    public void streamAll(Consumer<? super Product> consumer) {
+        productIDao.streamAll(consumer);
+    }
+
+    @Override
+    public void streamAll(Set<ProductField> fields, Consumer<? super Product> consumer) {
+        productIDao.streamAll(fields, consumer);
+    }
+
+    @Override
+    public Page<Product> findPage(String cursor, int limit) {
+        validatePageSize(limit);
+        return productIDao.findPage(PageCursor.decode(cursor), limit);
+    }
+
+    @Override
+    public Page<Product> findPage(String cursor, int limit, Set<ProductField> fields) {
+        validatePageSize(limit);
+        return productIDao.findPage(PageCursor.decode(cursor), limit, fields);
+    }
+
+    @Override
+    public List<Product> findByFilter(ProductFilter filter) {
+        validateFilter(filter);
+        return productIDao.findByFilter(filter);
+    }
+
+    @Override
+    public List<Product> findByFilter(ProductFilter filter, Set<ProductField> fields) {
+        long validationStart = RequestTrace.begin();
+        validateFilter(filter);
+        RequestTrace.end(RequestTrace.Phase.VALIDATE, validationStart);
+        return productIDao.findByFilter(filter, fields);
+    }
+
     @Override
     public Product update(Product product) {
+        long validationStart = RequestTrace.begin();
         validateProductId(product.getId());
         validateProduct(product);
-        return productIDao.update(product);
+        RequestTrace.end(RequestTrace.Phase.VALIDATE, validationStart);
+        Product updatedProduct = productIDao.update(product);
+        catalogVersion.incrementAndGet();
+        if (updatedProduct != null) {
+            notifyListeners(listener -> listener.onUpdated(updatedProduct));
+        }
+        return updatedProduct;
+    }
+
+    @Override
+    public List<BatchItemResult> updateAll(List<Product> products) {
+        validateBatchSize(products);
+        List<BatchItemResult> results = new ArrayList<>(products.size());
+        List<Product> validProducts = new ArrayList<>(products.size());
+        List<Integer> validIndexes = new ArrayList<>(products.size());
+
+        long validationStart = RequestTrace.begin();
+        for (int i = 0; i < products.size(); i++) {
+            try {
+                validateProduct(products.get(i));
+                validateProductId(products.get(i).getId());
+                validProducts.add(products.get(i));
+                validIndexes.add(i);
+                results.add(null);
+            } catch (IllegalArgumentException e) {
+                results.add(BatchItemResult.invalid(e.getMessage()));
+            }
+        }
+        RequestTrace.end(RequestTrace.Phase.VALIDATE, validationStart);
+
+        if (!validProducts.isEmpty()) {
+            List<WriteOutcome<Product>> outcomes = productIDao.updateAll(validProducts);
+            catalogVersion.incrementAndGet();
+            for (int i = 0; i < outcomes.size(); i++) {
+                Product updatedProduct = outcomes.get(i).value();
+                results.set(validIndexes.get(i), switch (outcomes.get(i).failure()) {
+                    case null -> BatchItemResult.updated(updatedProduct);
+                    case ProductNotFoundException e -> BatchItemResult.notFound("Product not found.");
+                    case ProductVersionConflictException e -> BatchItemResult.conflict("Product was modified by another request.");
+                    default -> BatchItemResult.failed("Failed to update product.");
+                });
+                if (updatedProduct != null) {
+                    notifyListeners(listener -> listener.onUpdated(updatedProduct));
+                }
+            }
+        }
+        return results;
     }
 
     @Override
     public void delete(Long id) {
+        delete(id, null);
+    }
+
+    @Override
+    public void delete(Long id, Long expectedVersion) {
         validateProductId(id);
-        productIDao.delete(id);
+        productIDao.delete(id, expectedVersion);
+        catalogVersion.incrementAndGet();
+        notifyListeners(listener -> listener.onDeleted(id));
+    }
+
+    private void notifyListeners(Consumer<ProductChangeListener> notification) {
+        for (ProductChangeListener listener : changeListeners) {
+            try {
+                notification.accept(listener);
+            } catch (RuntimeException e) {
+                LOGGER.error("✘ Error notifying {} of a committed product change: {}",
+                        listener.getClass().getSimpleName(), e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public void addChangeListener(ProductChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    @Override
+    public long getCatalogVersion() {
+        return catalogVersion.get();
     }
 }
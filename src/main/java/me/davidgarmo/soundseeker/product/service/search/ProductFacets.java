@@ -0,0 +1,201 @@
+package me.davidgarmo.soundseeker.product.service.search;
+
+import me.davidgarmo.soundseeker.product.persistence.dao.ProductFilter;
+import me.davidgarmo.soundseeker.product.persistence.entity.Product;
+import me.davidgarmo.soundseeker.product.service.IProductService;
+import me.davidgarmo.soundseeker.product.service.ProductChangeListener;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class ProductFacets implements ProductChangeListener {
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private final IProductService productSource;
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final ProductVersions versions = new ProductVersions();
+    private final SortedMap<Long, Integer> categoryCounts = new TreeMap<>();
+    private final SortedMap<String, Integer> brandCounts = new TreeMap<>();
+    private final SortedMap<Boolean, Integer> availabilityCounts = new TreeMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private List<Runnable> pendingChanges;
+    private volatile boolean loaded;
+
+    public ProductFacets(IProductService productSource) {
+        this.productSource = productSource;
+    }
+
+    private static <K> void adjust(Map<K, Integer> counts, K key, int delta) {
+        if (key != null && counts.merge(key, delta, Integer::sum) == 0) {
+            counts.remove(key);
+        }
+    }
+
+    private static boolean matches(Entry entry, ProductFilter filter) {
+        return (filter.categoryId() == null || filter.categoryId().equals(entry.categoryId()))
+                && (filter.brand() == null || filter.brand().equals(entry.brand()))
+                && (filter.available() == null || filter.available().equals(entry.available()))
+                && (filter.minPrice() == null || entry.price() != null && entry.price() >= filter.minPrice())
+                && (filter.maxPrice() == null || entry.price() != null && entry.price() <= filter.maxPrice());
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public Facets counts() {
+        load();
+        lock.readLock().lock();
+        try {
+            return new Facets(entries.size(), Collections.unmodifiableSortedMap(new TreeMap<>(categoryCounts)),
+                    Collections.unmodifiableSortedMap(new TreeMap<>(brandCounts)),
+                    Collections.unmodifiableSortedMap(new TreeMap<>(availabilityCounts)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Facets counts(ProductFilter filter) {
+        load();
+        SortedMap<Long, Integer> categories = new TreeMap<>();
+        SortedMap<String, Integer> brands = new TreeMap<>();
+        SortedMap<Boolean, Integer> availability = new TreeMap<>();
+        int total = 0;
+        lock.readLock().lock();
+        try {
+            for (Entry entry : entries.values()) {
+                if (matches(entry, filter)) {
+                    total++;
+                    adjust(categories, entry.categoryId(), 1);
+                    adjust(brands, entry.brand(), 1);
+                    adjust(availability, entry.available(), 1);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new Facets(total, Collections.unmodifiableSortedMap(categories),
+                Collections.unmodifiableSortedMap(brands), Collections.unmodifiableSortedMap(availability));
+    }
+
+    @Override
+    public void onSaved(Product product) {
+        onUpdated(product);
+    }
+
+    @Override
+    public void onUpdated(Product product) {
+        apply(() -> {
+            if (versions.accept(product)) {
+                add(product);
+            }
+        });
+    }
+
+    @Override
+    public void onDeleted(Long id) {
+        apply(() -> {
+            versions.delete(id);
+            remove(id);
+        });
+    }
+
+    private void apply(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                change.run();
+            } else if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void load() {
+        if (loaded) {
+            return;
+        }
+        loadLock.lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                entries.clear();
+                categoryCounts.clear();
+                brandCounts.clear();
+                availabilityCounts.clear();
+                versions.clear();
+                pendingChanges = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            try {
+                productSource.streamAll(product -> {
+                    if (versions.accept(product)) {
+                        add(product);
+                    }
+                });
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    pendingChanges = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+
+            lock.writeLock().lock();
+            try {
+                pendingChanges.forEach(Runnable::run);
+                pendingChanges = null;
+                loaded = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            LOGGER.info("✔ Facet counters loaded for {} products.", entries.size());
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private void add(Product product) {
+        remove(product.getId());
+        Entry entry = new Entry(product.getCategoryId(), product.getBrand(), product.getAvailable(), product.getPrice());
+        entries.put(product.getId(), entry);
+        adjust(categoryCounts, entry.categoryId(), 1);
+        adjust(brandCounts, entry.brand(), 1);
+        adjust(availabilityCounts, entry.available(), 1);
+    }
+
+    private void remove(Long id) {
+        Entry previous = entries.remove(id);
+        if (previous != null) {
+            adjust(categoryCounts, previous.categoryId(), -1);
+            adjust(brandCounts, previous.brand(), -1);
+            adjust(availabilityCounts, previous.available(), -1);
+        }
+    }
+
+    public record Facets(int total, SortedMap<Long, Integer> categories, SortedMap<String, Integer> brands,
+                         SortedMap<Boolean, Integer> available) {
+    }
+
+    private record Entry(Long categoryId, String brand, Boolean available, Double price) {
+    }
+}
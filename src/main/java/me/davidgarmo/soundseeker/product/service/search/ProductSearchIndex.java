@@ -0,0 +1,240 @@
+package me.davidgarmo.soundseeker.product.service.search;
+
+import me.davidgarmo.soundseeker.product.persistence.entity.Product;
+import me.davidgarmo.soundseeker.product.service.IProductService;
+import me.davidgarmo.soundseeker.product.service.ProductChangeListener;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class ProductSearchIndex implements ProductChangeListener {
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int NAME_WEIGHT = 3;
+    private static final int BRAND_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final IProductService productSource;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final ProductVersions versions = new ProductVersions();
+    private long totalLength;
+    private List<Runnable> pendingChanges;
+    private volatile boolean loaded;
+
+    public ProductSearchIndex(IProductService productSource) {
+        this.productSource = productSource;
+    }
+
+    private static void addTerms(Map<String, Integer> termFrequencies, String text, int weight) {
+        for (String term : TextAnalyzer.analyze(text)) {
+            termFrequencies.merge(term, weight, Integer::sum);
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public List<Product> search(String query, int limit) {
+        load();
+        Set<String> terms = new LinkedHashSet<>(TextAnalyzer.analyze(query));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            if (documentCount == 0) {
+                return List.of();
+            }
+
+            double averageLength = (double) totalLength / documentCount;
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<Long, Integer> matches = postings.get(term);
+                if (matches == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documentCount - matches.size() + 0.5) / (matches.size() + 0.5));
+                for (Map.Entry<Long, Integer> match : matches.entrySet()) {
+                    int frequency = match.getValue();
+                    double norm = K1 * (1 - B + B * documents.get(match.getKey()).length() / averageLength);
+                    scores.merge(match.getKey(), idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+                }
+            }
+
+            PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(limit + 1,
+                    Map.Entry.<Long, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey(Collections.reverseOrder())));
+            for (Map.Entry<Long, Double> score : scores.entrySet()) {
+                top.offer(score);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<Product> results = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                results.add(documents.get(top.poll().getKey()).product());
+            }
+            Collections.reverse(results);
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        load();
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onSaved(Product product) {
+        onUpdated(product);
+    }
+
+    @Override
+    public void onUpdated(Product product) {
+        apply(() -> {
+            if (versions.accept(product)) {
+                index(product);
+            }
+        });
+    }
+
+    @Override
+    public void onDeleted(Long id) {
+        apply(() -> {
+            versions.delete(id);
+            remove(id);
+        });
+    }
+
+    private void apply(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                change.run();
+            } else if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Streams the catalog without holding the index lock, so writes are not blocked while it loads. Changes notified
+     * in the meantime are queued and replayed once the stream ends.
+     */
+    public void load() {
+        if (loaded) {
+            return;
+        }
+        loadLock.lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                postings.clear();
+                documents.clear();
+                versions.clear();
+                totalLength = 0;
+                pendingChanges = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            try {
+                productSource.streamAll(product -> {
+                    if (versions.accept(product)) {
+                        index(product);
+                    }
+                });
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    pendingChanges = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+
+            lock.writeLock().lock();
+            try {
+                pendingChanges.forEach(Runnable::run);
+                pendingChanges = null;
+                loaded = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            LOGGER.info("✔ Search index loaded with {} products and {} terms.", documents.size(), postings.size());
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private void index(Product product) {
+        remove(product.getId());
+
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        addTerms(termFrequencies, product.getName(), NAME_WEIGHT);
+        addTerms(termFrequencies, product.getBrand(), BRAND_WEIGHT);
+        addTerms(termFrequencies, product.getDescription(), DESCRIPTION_WEIGHT);
+
+        int length = 0;
+        for (Map.Entry<String, Integer> term : termFrequencies.entrySet()) {
+            postings.computeIfAbsent(term.getKey(), key -> new HashMap<>()).put(product.getId(), term.getValue());
+            length += term.getValue();
+        }
+
+        Product copy = new Product(product.getId(), product.getName(), product.getDescription(), product.getBrand(),
+                product.getPrice(), product.getAvailable(), product.getThumbnail(), product.getCategoryId());
+        copy.setVersion(product.getVersion());
+        documents.put(product.getId(), new Document(copy, termFrequencies.keySet().toArray(String[]::new), length));
+        totalLength += length;
+    }
+
+    private void remove(Long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms()) {
+            Map<Long, Integer> matches = postings.get(term);
+            if (matches != null) {
+                matches.remove(id);
+                if (matches.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= document.length();
+    }
+
+    private record Document(Product product, String[] terms, int length) {
+    }
+}
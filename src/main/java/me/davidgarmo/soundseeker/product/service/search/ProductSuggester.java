@@ -0,0 +1,175 @@
+package me.davidgarmo.soundseeker.product.service.search;
+
+import me.davidgarmo.soundseeker.product.persistence.entity.Product;
+import me.davidgarmo.soundseeker.product.service.IProductService;
+import me.davidgarmo.soundseeker.product.service.ProductChangeListener;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+public class ProductSuggester implements ProductChangeListener {
+    public static final String NAME = "name";
+    public static final String BRAND = "brand";
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final Comparator<Entry> ORDER = ProductSuggester::compare;
+
+    private final IProductService productSource;
+    private final Map<Long, Product> indexedProducts = new HashMap<>();
+    private final Map<String, Integer> brandCounts = new HashMap<>();
+    private final ProductVersions versions = new ProductVersions();
+    private final NavigableSet<Entry> entries = new ConcurrentSkipListSet<>(ORDER);
+    private final Object loadLock = new Object();
+    private List<Runnable> pendingChanges;
+    private volatile boolean loaded;
+
+    public ProductSuggester(IProductService productSource) {
+        this.productSource = productSource;
+    }
+
+    private static int compare(Entry entry, Entry other) {
+        int byKey = entry.key().compareTo(other.key());
+        if (byKey != 0) {
+            return byKey;
+        }
+        // A probe without suggestion sorts before every entry with the same key.
+        if (entry.suggestion() == null || other.suggestion() == null) {
+            return entry.suggestion() == null ? (other.suggestion() == null ? 0 : -1) : 1;
+        }
+        int byType = entry.suggestion().type().compareTo(other.suggestion().type());
+        if (byType != 0) {
+            return byType;
+        }
+        long id = entry.suggestion().id() == null ? 0 : entry.suggestion().id();
+        long otherId = other.suggestion().id() == null ? 0 : other.suggestion().id();
+        return Long.compare(id, otherId);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        load();
+        String normalizedPrefix = TextAnalyzer.normalize(prefix).strip();
+        if (normalizedPrefix.isEmpty()) {
+            return List.of();
+        }
+
+        List<Suggestion> suggestions = new ArrayList<>(Math.min(limit, 16));
+        for (Entry entry : entries.tailSet(new Entry(normalizedPrefix, null))) {
+            if (suggestions.size() >= limit || !entry.key().startsWith(normalizedPrefix)) {
+                break;
+            }
+            suggestions.add(entry.suggestion());
+        }
+        return Collections.unmodifiableList(suggestions);
+    }
+
+    @Override
+    public void onSaved(Product product) {
+        onUpdated(product);
+    }
+
+    @Override
+    public void onUpdated(Product product) {
+        apply(() -> {
+            if (versions.accept(product)) {
+                index(product);
+            }
+        });
+    }
+
+    @Override
+    public void onDeleted(Long id) {
+        apply(() -> {
+            versions.delete(id);
+            remove(id);
+        });
+    }
+
+    private synchronized void apply(Runnable change) {
+        if (loaded) {
+            change.run();
+        } else if (pendingChanges != null) {
+            pendingChanges.add(change);
+        }
+    }
+
+    public void load() {
+        if (loaded) {
+            return;
+        }
+        synchronized (loadLock) {
+            if (loaded) {
+                return;
+            }
+            synchronized (this) {
+                indexedProducts.clear();
+                brandCounts.clear();
+                versions.clear();
+                entries.clear();
+                pendingChanges = new ArrayList<>();
+            }
+
+            try {
+                productSource.streamAll(product -> {
+                    if (versions.accept(product)) {
+                        index(product);
+                    }
+                });
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    pendingChanges = null;
+                }
+                throw e;
+            }
+
+            synchronized (this) {
+                pendingChanges.forEach(Runnable::run);
+                pendingChanges = null;
+                loaded = true;
+            }
+            LOGGER.info("✔ Suggestion index loaded with {} entries.", entries.size());
+        }
+    }
+
+    private void index(Product product) {
+        remove(product.getId());
+        indexedProducts.put(product.getId(), new Product(product.getId(), product.getName(), null,
+                product.getBrand(), null, null, null, null));
+
+        entries.add(new Entry(TextAnalyzer.normalize(product.getName()), new Suggestion(product.getName(), NAME, product.getId())));
+        String brandKey = TextAnalyzer.normalize(product.getBrand());
+        if (brandCounts.merge(brandKey, 1, Integer::sum) == 1) {
+            entries.add(new Entry(brandKey, new Suggestion(product.getBrand(), BRAND, null)));
+        }
+    }
+
+    private void remove(Long id) {
+        Product previous = indexedProducts.remove(id);
+        if (previous == null) {
+            return;
+        }
+
+        entries.remove(new Entry(TextAnalyzer.normalize(previous.getName()), new Suggestion(previous.getName(), NAME, id)));
+        String brandKey = TextAnalyzer.normalize(previous.getBrand());
+        if (brandCounts.merge(brandKey, -1, Integer::sum) == 0) {
+            brandCounts.remove(brandKey);
+            entries.remove(new Entry(brandKey, new Suggestion(previous.getBrand(), BRAND, null)));
+        }
+    }
+
+    public record Suggestion(String text, String type, Long id) {
+    }
+
+    private record Entry(String key, Suggestion suggestion) {
+    }
+}
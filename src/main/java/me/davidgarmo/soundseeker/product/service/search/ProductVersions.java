@@ -0,0 +1,38 @@
+package me.davidgarmo.soundseeker.product.service.search;
+
+import me.davidgarmo.soundseeker.product.persistence.entity.Product;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Last version applied per product id. Change events are delivered after the commit and may arrive out of order, so
+ * an event is only applied when it is newer than what the owner already holds. Deletes leave a tombstone behind
+ * because product ids are never reused. Not thread-safe: callers guard it with their own lock.
+ */
+final class ProductVersions {
+    private static final long UNKNOWN = -1L;
+    private static final long DELETED = Long.MAX_VALUE;
+
+    private final Map<Long, Long> versions = new HashMap<>();
+
+    boolean accept(Product product) {
+        long version = product.getVersion() == null ? UNKNOWN : product.getVersion();
+        Long previous = versions.get(product.getId());
+        if (previous != null && (previous == DELETED || version != UNKNOWN && previous >= version)) {
+            return false;
+        }
+        if (previous == null || version != UNKNOWN) {
+            versions.put(product.getId(), version);
+        }
+        return true;
+    }
+
+    void delete(Long id) {
+        versions.put(id, DELETED);
+    }
+
+    void clear() {
+        versions.clear();
+    }
+}
@@ -0,0 +1,67 @@
+package me.davidgarmo.soundseeker.product.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+public final class TextAnalyzer {
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "al", "algo", "algunas", "algunos", "ante", "antes", "como", "con", "contra", "cual", "cuando",
+            "de", "del", "desde", "donde", "durante", "e", "el", "ella", "ellos", "en", "entre", "era", "es", "esa",
+            "ese", "eso", "esta", "estan", "estas", "este", "esto", "estos", "fue", "ha", "han", "hasta", "hay",
+            "la", "las", "le", "les", "lo", "los", "mas", "me", "mi", "muy", "nada", "ni", "no", "nos", "o", "otra",
+            "otras", "otro", "otros", "para", "pero", "poco", "por", "porque", "que", "quien", "se", "sea", "ser",
+            "si", "sin", "sobre", "son", "su", "sus", "tambien", "tan", "tanto", "te", "tiene", "todo", "todos",
+            "tu", "un", "una", "uno", "unos", "y", "ya", "yo");
+
+    private TextAnalyzer() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                folded.append(c);
+            }
+        }
+        return folded.toString().toLowerCase(Locale.ROOT);
+    }
+
+    public static List<String> analyze(String text) {
+        String normalized = normalize(text);
+        List<String> terms = new ArrayList<>();
+        int start = -1;
+
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean tokenChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                String token = normalized.substring(start, i);
+                if (!STOP_WORDS.contains(token)) {
+                    terms.add(stem(token));
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    static String stem(String token) {
+        int length = token.length();
+        if (length <= 3 || Character.isDigit(token.charAt(length - 1)) || token.charAt(length - 1) != 's') {
+            return token;
+        }
+        if (length > 4 && token.charAt(length - 2) == 'e' && "lnrdzj".indexOf(token.charAt(length - 3)) >= 0) {
+            return token.substring(0, length - 2);
+        }
+        return token.substring(0, length - 1);
+    }
+}
@@ -1,22 +1,147 @@
 package me.davidgarmo.soundseeker.product.web.servlet;
 
 import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import me.davidgarmo.soundseeker.product.web.util.ByteRange;
+import me.davidgarmo.soundseeker.product.web.util.ContentAddressedStore;
+import me.davidgarmo.soundseeker.product.web.util.FileCache;
+import me.davidgarmo.soundseeker.product.web.util.ThumbnailPipeline;
+import org.apache.catalina.Globals;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.UUID;
 
 @WebServlet("/uploads/*")
 public class FileServingServlet extends HttpServlet {
     private static final String UPLOAD_DIR = "uploads";
+    private static final long SENDFILE_THRESHOLD = 48 * 1024;
+
+    private final FileCache fileCache;
+    private final ThumbnailPipeline thumbnailPipeline;
+
+    public FileServingServlet() {
+        this(new FileCache(), new ThumbnailPipeline());
+    }
+
+    public FileServingServlet(FileCache fileCache, ThumbnailPipeline thumbnailPipeline) {
+        this.fileCache = fileCache;
+        this.thumbnailPipeline = thumbnailPipeline;
+    }
+
+    @Override
+    public void init() {
+        if (thumbnailPipeline == null) {
+            return;
+        }
+        Path uploadDir = Path.of(getServletContext().getRealPath("/"), UPLOAD_DIR).toAbsolutePath().normalize();
+        thumbnailPipeline.addInvalidationListener(derivative -> {
+            Path absolute = derivative.toAbsolutePath().normalize();
+            if (absolute.startsWith(uploadDir)) {
+                fileCache.invalidate(uploadDir.relativize(absolute).toString().replace(File.separatorChar, '/'));
+            }
+        });
+    }
+
+    public FileCache getFileCache() {
+        return fileCache;
+    }
+
+    public ThumbnailPipeline getThumbnailPipeline() {
+        return thumbnailPipeline;
+    }
+
+    private static Integer parseWidth(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            int width = Integer.parseInt(value);
+            return width > 0 ? width : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void write(ByteBuffer content, ByteRange range, WritableByteChannel target) throws IOException {
+        ByteBuffer slice = content.duplicate();
+        slice.limit((int) range.end() + 1).position((int) range.start());
+        while (slice.hasRemaining()) {
+            target.write(slice);
+        }
+    }
+
+    private static String eTagOf(BasicFileAttributes attributes) {
+        return "\"" + Long.toHexString(attributes.size()) + "-" + Long.toHexString(attributes.lastModifiedTime().toMillis()) + "\"";
+    }
+
+    private static boolean matchesETag(String header, String eTag) {
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isNotModified(HttpServletRequest request, String eTag, long lastModified) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            return matchesETag(ifNoneMatch, eTag);
+        }
+        try {
+            long ifModifiedSince = request.getDateHeader("If-Modified-Since");
+            return ifModifiedSince != -1 && lastModified / 1000 <= ifModifiedSince / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static boolean isRangeApplicable(HttpServletRequest request, String eTag, long lastModified) {
+        String ifRange = request.getHeader("If-Range");
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.trim().startsWith("\"")) {
+            return ifRange.trim().equals(eTag);
+        }
+        try {
+            long date = request.getDateHeader("If-Range");
+            return date != -1 && lastModified / 1000 == date / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
 
     @Override
     protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        serve(request, response, true);
+    }
 
+    @Override
+    protected void doHead(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        serve(request, response, false);
+    }
+
+    private void serve(HttpServletRequest request, HttpServletResponse response, boolean content) throws IOException {
         String pathInfo = request.getPathInfo();
         if (pathInfo == null || pathInfo.equals("/")) {
             response.sendError(HttpServletResponse.SC_NOT_FOUND);
@@ -26,26 +151,181 @@ public class FileServingServlet extends HttpServlet {
         if (pathInfo.startsWith("/")) {
             pathInfo = pathInfo.substring(1);
         }
+        if (pathInfo.startsWith(".")) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        Integer width = parseWidth(request.getParameter("w"));
+        if (width != null && width < 0) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        String key = pathInfo;
+        if (width != null && thumbnailPipeline != null && ThumbnailPipeline.isSupported(pathInfo)) {
+            key = ThumbnailPipeline.derivativeName(pathInfo, ThumbnailPipeline.closestWidth(width));
+        }
 
-        String realPath = request.getServletContext().getRealPath("/");
-        File uploadDir = new File(realPath, UPLOAD_DIR);
-        File file = new File(uploadDir, pathInfo);
+        FileCache.CachedFile cached = fileCache.get(key);
+        File file = null;
+        boolean saturated = false;
+        if (cached == null) {
+            String realPath = request.getServletContext().getRealPath("/");
+            File uploadDir = new File(realPath, UPLOAD_DIR);
+            file = new File(uploadDir, pathInfo);
 
-        if (!file.exists() || !file.isFile() || !file.getCanonicalPath().startsWith(uploadDir.getCanonicalPath())) {
-            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            if (!file.exists() || !file.isFile() || !file.getCanonicalPath().startsWith(uploadDir.getCanonicalPath())) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+
+            if (!key.equals(pathInfo)) {
+                ThumbnailPipeline.Resolved resolved = thumbnailPipeline.resolve(file.toPath(), width);
+                file = resolved.path().toFile();
+                saturated = resolved.saturated();
+            }
+
+            BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+            String contentType = getServletContext().getMimeType(file.getName());
+            if (contentType == null) {
+                contentType = "application/octet-stream";
+            }
+            if (!saturated) {
+                cached = fileCache.load(key, file.toPath(), contentType, attributes.size(),
+                        attributes.lastModifiedTime().toMillis(), eTagOf(attributes));
+            }
+            if (cached == null) {
+                cached = new FileCache.CachedFile(null, contentType, attributes.size(),
+                        attributes.lastModifiedTime().toMillis(), eTagOf(attributes));
+            }
+            response.setHeader("X-Cache", "MISS");
+        } else {
+            response.setHeader("X-Cache", "HIT");
+        }
+
+        long size = cached.size();
+        long lastModified = cached.lastModified();
+        String eTag = cached.eTag();
+        String contentType = cached.contentType();
+
+        response.setHeader("ETag", eTag);
+        response.setDateHeader("Last-Modified", lastModified);
+        response.setHeader("Accept-Ranges", "bytes");
+        if (saturated) {
+            response.setHeader("Cache-Control", "no-cache");
+        } else if (ContentAddressedStore.isContentAddressed(key)) {
+            response.setHeader("Cache-Control", "public, max-age=31536000, immutable");
+        } else {
+            response.setHeader("Cache-Control", "public, max-age=86400"); // 1 día
+        }
+
+        if (isNotModified(request, eTag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
             return;
         }
 
-        String contentType = getServletContext().getMimeType(file.getName());
-        if (contentType == null) {
-            contentType = "application/octet-stream";
+        List<ByteRange> ranges = isRangeApplicable(request, eTag, lastModified)
+                ? ByteRange.parse(request.getHeader("Range"), size)
+                : null;
+
+        if (ranges == null) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(contentType);
+            response.setContentLengthLong(size);
+            if (content) {
+                sendBody(request, response, cached, file, new ByteRange(0, size - 1));
+            }
+        } else if (ranges.isEmpty()) {
+            response.setHeader("Content-Range", "bytes */" + size);
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        } else if (ranges.size() == 1) {
+            ByteRange range = ranges.get(0);
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setContentType(contentType);
+            response.setHeader("Content-Range", range.toContentRange(size));
+            response.setContentLengthLong(range.length());
+            if (content) {
+                sendBody(request, response, cached, file, range);
+            }
+        } else {
+            sendMultipart(response, cached, file, ranges, content);
         }
+    }
 
-        response.setContentType(contentType);
-        response.setContentLength((int) file.length());
+    private void sendBody(HttpServletRequest request, HttpServletResponse response, FileCache.CachedFile cached,
+                          File file, ByteRange range) throws IOException {
+        if (range.length() <= 0) {
+            return;
+        }
+        if (cached.content() != null) {
+            write(cached.content(), range, Channels.newChannel(response.getOutputStream()));
+            return;
+        }
+
+        if (range.length() >= SENDFILE_THRESHOLD && Boolean.TRUE.equals(request.getAttribute(Globals.SENDFILE_SUPPORTED_ATTR))) {
+            request.setAttribute(Globals.SENDFILE_FILENAME_ATTR, file.getCanonicalPath());
+            request.setAttribute(Globals.SENDFILE_FILE_START_ATTR, range.start());
+            request.setAttribute(Globals.SENDFILE_FILE_END_ATTR, range.end() + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            transfer(channel, range, Channels.newChannel(response.getOutputStream()));
+        }
+    }
 
-        response.setHeader("Cache-Control", "public, max-age=86400"); // 1 día
+    private void sendMultipart(HttpServletResponse response, FileCache.CachedFile cached, File file,
+                               List<ByteRange> ranges, boolean content) throws IOException {
+        String contentType = cached.contentType();
+        long size = cached.size();
+        String boundary = UUID.randomUUID().toString().replace("-", "");
+        byte[][] partHeaders = new byte[ranges.size()][];
+        byte[] closing = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        long contentLength = closing.length;
 
-        Files.copy(file.toPath(), response.getOutputStream());
+        for (int i = 0; i < ranges.size(); i++) {
+            ByteRange range = ranges.get(i);
+            partHeaders[i] = ("\r\n--" + boundary + "\r\n"
+                    + "Content-Type: " + contentType + "\r\n"
+                    + "Content-Range: " + range.toContentRange(size) + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+            contentLength += partHeaders[i].length + range.length();
+        }
+
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(contentLength);
+        if (!content) {
+            return;
+        }
+
+        ServletOutputStream out = response.getOutputStream();
+        WritableByteChannel target = Channels.newChannel(out);
+        if (cached.content() != null) {
+            for (int i = 0; i < ranges.size(); i++) {
+                out.write(partHeaders[i]);
+                write(cached.content(), ranges.get(i), target);
+            }
+        } else {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                for (int i = 0; i < ranges.size(); i++) {
+                    out.write(partHeaders[i]);
+                    transfer(channel, ranges.get(i), target);
+                }
+            }
+        }
+        out.write(closing);
+    }
+
+    private void transfer(FileChannel channel, ByteRange range, WritableByteChannel target) throws IOException {
+        long position = range.start();
+        long remaining = range.length();
+        while (remaining > 0) {
+            long transferred = channel.transferTo(position, remaining, target);
+            if (transferred <= 0) {
+                throw new IOException("File ended before the requested range was served.");
+            }
+            position += transferred;
+            remaining -= transferred;
+        }
     }
 }
@@ -1,5 +1,7 @@
 package me.davidgarmo.soundseeker.product.web.servlet;
 
+import com.google.gson.Gson;
+import jakarta.servlet.MultipartConfigElement;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.MultipartConfig;
 import jakarta.servlet.annotation.WebServlet;
@@ -7,20 +9,33 @@ import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.Part;
+import me.davidgarmo.soundseeker.product.metrics.jfr.FileUploadEvent;
+import me.davidgarmo.soundseeker.product.web.util.ContentAddressedStore;
+import me.davidgarmo.soundseeker.product.web.util.ThumbnailPipeline;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @WebServlet("/api/v1/upload")
 @MultipartConfig(fileSizeThreshold = 1024 * 1024, maxFileSize = 1024 * 1024 * 10, maxRequestSize = 1024 * 1024 * 50)
 public class FileUploadServlet extends HttpServlet {
     private static final Logger LOGGER = LogManager.getLogger();
     private static final String UPLOAD_DIR = "uploads";
+    private static final String INCOMING_DIR = ".incoming";
+    private static final int FILE_SIZE_THRESHOLD =
+            FileUploadServlet.class.getAnnotation(MultipartConfig.class).fileSizeThreshold();
+    private static final int SIGNATURE_LENGTH = 12;
+    private static final int MAX_BATCH_FILES = 20;
+    private static final int UPLOAD_WORKERS = Integer.getInteger("soundseeker.upload.workers",
+            Runtime.getRuntime().availableProcessors());
     private static final Set<String> ALLOWED_EXTENSIONS = new HashSet<>(
             Arrays.asList("gif", "jpg", "jpeg", "png", "webp"));
     private static final Set<String> ALLOWED_MIME_TYPES = new HashSet<>(
@@ -31,6 +46,10 @@ public class FileUploadServlet extends HttpServlet {
                     "image/webp"));
     private static final Map<String, byte[][]> FILE_SIGNATURES = new HashMap<>();
 
+    private final ThumbnailPipeline thumbnailPipeline;
+    private final ThreadPoolExecutor uploadExecutor;
+    private final Gson gson = new Gson();
+
     static {
         FILE_SIGNATURES.put("gif", new byte[][]{
                 {(byte) 0x47, (byte) 0x49, (byte) 0x46, (byte) 0x38, (byte) 0x37, (byte) 0x61},
@@ -57,6 +76,34 @@ public class FileUploadServlet extends HttpServlet {
         });
     }
 
+    public FileUploadServlet() {
+        this(null);
+    }
+
+    public FileUploadServlet(ThumbnailPipeline thumbnailPipeline) {
+        this.thumbnailPipeline = thumbnailPipeline;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.uploadExecutor = new ThreadPoolExecutor(UPLOAD_WORKERS, UPLOAD_WORKERS, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(MAX_BATCH_FILES * 2),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "soundseeker-upload-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.uploadExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    public static MultipartConfigElement multipartConfig(File uploadDir) {
+        File incomingDir = new File(uploadDir, INCOMING_DIR);
+        if (!incomingDir.exists()) {
+            incomingDir.mkdirs();
+        }
+        MultipartConfig config = FileUploadServlet.class.getAnnotation(MultipartConfig.class);
+        return new MultipartConfigElement(incomingDir.getAbsolutePath(), config.maxFileSize(),
+                config.maxRequestSize(), config.fileSizeThreshold());
+    }
+
     @Override
     protected void doPost(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
         String realPath = request.getServletContext().getRealPath("/");
@@ -66,8 +113,14 @@ public class FileUploadServlet extends HttpServlet {
             uploadDir.mkdirs();
         }
 
-        String fileName = "";
-        String originalFileName = "";
+        ContentAddressedStore store = new ContentAddressedStore(uploadDir.toPath());
+
+        if ("/batch".equals(request.getPathInfo())) {
+            doPostBatch(request, response, store, uploadDir.toPath());
+            return;
+        }
+
+        UploadResult result = null;
 
         try {
             for (Part part : request.getParts()) {
@@ -75,64 +128,160 @@ public class FileUploadServlet extends HttpServlet {
                     continue;
                 }
 
-                originalFileName = getFileName(part);
-                String extension = getFileExtension(originalFileName);
-
-                if (!isValidExtension(extension)) {
-                    sendErrorResponse(response, "File type not permitted. Allowed types: " + String.join(", ", ALLOWED_EXTENSIONS) + ".");
+                result = upload(part, store, uploadDir.toPath());
+                if (result.error() != null) {
+                    sendErrorResponse(response, result.error());
                     return;
                 }
+            }
 
-                String contentType = part.getContentType();
-                if (!isValidMimeType(contentType)) {
-                    sendErrorResponse(response, "File type not permitted. Invalid MIME type: " + contentType + ".");
-                    return;
-                }
+            if (result == null) {
+                sendErrorResponse(response, "No file uploaded.");
+                return;
+            }
 
-                byte[] fileStart = new byte[12];
-                try (InputStream inputStream = part.getInputStream()) {
-                    int bytesRead = inputStream.read(fileStart, 0, fileStart.length);
-                    if (bytesRead < 4) {
-                        sendErrorResponse(response, "File is too small to be a valid image.");
-                        return;
-                    }
+            String fileUrl = request.getContextPath() + "/uploads/" + result.fileName();
 
-                    if (!isValidFileContent(fileStart, extension)) {
-                        LOGGER.warn("File content does not match the expected signature for extension: {}.", extension);
-                        sendErrorResponse(response, "File content does not match with the declared extension.");
-                        return;
-                    }
-                }
+            response.setContentType("application/json");
+            response.getWriter().print("{\"success\": true, \"filePath\": \"" + fileUrl
+                    + "\", \"fileName\": \"" + result.fileName()
+                    + "\", \"originalFileName\": \"" + result.originalFileName()
+                    + "\", \"deduplicated\": " + result.deduplicated() + "}");
 
-                long timestamp = System.currentTimeMillis();
-                fileName = timestamp + "." + extension;
+        } catch (Exception e) {
+            LOGGER.fatal("Error uploading file: {}", e.getMessage());
+            sendErrorResponse(response, "An error occurred while uploading the file: " + e.getMessage());
+        }
+    }
 
-                try (InputStream inputStream = part.getInputStream();
-                     FileOutputStream outputStream = new FileOutputStream(new File(uploadDir, fileName))) {
-                    byte[] buffer = new byte[8192];
-                    int bytesRead;
-                    while ((bytesRead = inputStream.read(buffer)) != -1) {
-                        outputStream.write(buffer, 0, bytesRead);
-                    }
+    private void doPostBatch(HttpServletRequest request, HttpServletResponse response, ContentAddressedStore store,
+                             Path uploadDir) throws IOException {
+        try {
+            List<Part> parts = new ArrayList<>();
+            for (Part part : request.getParts()) {
+                if (part.getSubmittedFileName() != null && !part.getSubmittedFileName().isEmpty()) {
+                    parts.add(part);
                 }
             }
-
-            if (fileName.isEmpty()) {
+            if (parts.isEmpty()) {
                 sendErrorResponse(response, "No file uploaded.");
                 return;
             }
+            if (parts.size() > MAX_BATCH_FILES) {
+                sendErrorResponse(response, "Batch must contain between 1 and " + MAX_BATCH_FILES + " files.");
+                return;
+            }
 
-            String fileUrl = request.getContextPath() + "/uploads/" + fileName;
+            List<Future<UploadResult>> futures = new ArrayList<>(parts.size());
+            for (Part part : parts) {
+                futures.add(uploadExecutor.submit(() -> upload(part, store, uploadDir)));
+            }
 
-            response.setContentType("application/json");
-            response.getWriter().print("{\"success\": true, \"filePath\": \"" + fileUrl
-                    + "\", \"fileName\": \"" + fileName
-                    + "\", \"originalFileName\": \"" + originalFileName + "\"}");
+            BatchUploadItem[] items = new BatchUploadItem[parts.size()];
+            for (int i = 0; i < futures.size(); i++) {
+                items[i] = toBatchItem(i, request.getContextPath(), parts.get(i), futures.get(i));
+            }
 
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType("application/json");
+            response.getWriter().print(gson.toJson(items));
         } catch (Exception e) {
-            LOGGER.fatal("Error uploading file: {}", e.getMessage());
-            sendErrorResponse(response, "An error occurred while uploading the file: " + e.getMessage());
+            LOGGER.fatal("Error uploading files: {}", e.getMessage());
+            sendErrorResponse(response, "An error occurred while uploading the files: " + e.getMessage());
+        }
+    }
+
+    private BatchUploadItem toBatchItem(int index, String contextPath, Part part, Future<UploadResult> future)
+            throws InterruptedException {
+        try {
+            UploadResult result = future.get();
+            if (result.error() != null) {
+                return new BatchUploadItem(index, HttpServletResponse.SC_BAD_REQUEST, result.originalFileName(),
+                        null, null, part.getSize(), false, result.error());
+            }
+            return new BatchUploadItem(index,
+                    result.deduplicated() ? HttpServletResponse.SC_OK : HttpServletResponse.SC_CREATED,
+                    result.originalFileName(), contextPath + "/uploads/" + result.fileName(), result.fileName(),
+                    part.getSize(), result.deduplicated(), null);
+        } catch (ExecutionException e) {
+            LOGGER.error("✘ Error uploading file {}: {}", part.getSubmittedFileName(), e.getCause().getMessage());
+            return new BatchUploadItem(index, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, getFileName(part),
+                    null, null, part.getSize(), false,
+                    "An error occurred while uploading the file: " + e.getCause().getMessage());
+        }
+    }
+
+    private UploadResult upload(Part part, ContentAddressedStore store, Path uploadDir) throws IOException {
+        FileUploadEvent event = new FileUploadEvent();
+        event.begin();
+        UploadResult result = validateAndStore(part, store, uploadDir, event);
+        event.end();
+        if (event.shouldCommit()) {
+            event.fileName = result.originalFileName();
+            event.size = part.getSize();
+            event.extension = getFileExtension(result.originalFileName());
+            event.validationResult = result.error() == null ? "valid" : result.error();
+            event.deduplicated = result.deduplicated();
+            event.commit();
         }
+        return result;
+    }
+
+    private UploadResult validateAndStore(Part part, ContentAddressedStore store, Path uploadDir, FileUploadEvent event)
+            throws IOException {
+        String originalFileName = getFileName(part);
+        String extension = getFileExtension(originalFileName);
+
+        if (!isValidExtension(extension)) {
+            return UploadResult.invalid(originalFileName,
+                    "File type not permitted. Allowed types: " + String.join(", ", ALLOWED_EXTENSIONS) + ".");
+        }
+
+        String contentType = part.getContentType();
+        if (!isValidMimeType(contentType)) {
+            return UploadResult.invalid(originalFileName, "File type not permitted. Invalid MIME type: " + contentType + ".");
+        }
+
+        byte[] fileStart;
+        try (InputStream inputStream = part.getInputStream()) {
+            fileStart = inputStream.readNBytes(SIGNATURE_LENGTH);
+        }
+        if (fileStart.length < 4) {
+            return UploadResult.invalid(originalFileName, "File is too small to be a valid image.");
+        }
+
+        if (!isValidFileContent(fileStart, extension)) {
+            LOGGER.warn("File content does not match the expected signature for extension: {}.", extension);
+            return UploadResult.invalid(originalFileName, "File content does not match with the declared extension.");
+        }
+
+        long writeStart = event.isEnabled() ? System.nanoTime() : 0L;
+        ContentAddressedStore.StoredFile storedFile = store(part, store, extension.equals("jpeg") ? "jpg" : extension);
+        if (event.isEnabled()) {
+            event.writeTime = System.nanoTime() - writeStart;
+        }
+        if (thumbnailPipeline != null && !storedFile.deduplicated()) {
+            thumbnailPipeline.submit(uploadDir.resolve(storedFile.relativePath()));
+        }
+        return new UploadResult(originalFileName, storedFile.relativePath(), storedFile.deduplicated(), null);
+    }
+
+    private ContentAddressedStore.StoredFile store(Part part, ContentAddressedStore store, String extension)
+            throws IOException {
+        if (part.getSize() <= FILE_SIZE_THRESHOLD) {
+            try (InputStream inputStream = part.getInputStream()) {
+                return store.store(inputStream, extension);
+            }
+        }
+        // Larger parts were already spooled to .incoming, so Part.write only renames them.
+        Path temporary = store.createTemporary();
+        try {
+            part.write(temporary.toString());
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        return store.store(temporary, extension);
     }
 
     private String getFileName(Part part) {
@@ -163,7 +312,7 @@ public class FileUploadServlet extends HttpServlet {
         return ALLOWED_MIME_TYPES.contains(mimeType.toLowerCase());
     }
 
-    private boolean isValidFileContent(byte[] fileStart, String extension) {
+    static boolean isValidFileContent(byte[] fileStart, String extension) {
         byte[][] signatures = FILE_SIGNATURES.get(extension.toLowerCase());
         if (signatures == null) return false;
 
@@ -192,9 +341,25 @@ public class FileUploadServlet extends HttpServlet {
         return false;
     }
 
+    @Override
+    public void destroy() {
+        uploadExecutor.shutdown();
+    }
+
     private void sendErrorResponse(HttpServletResponse response, String message) throws IOException {
         response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
         response.setContentType("application/json");
         response.getWriter().print("{\"success\": false, \"error\": \"" + message + "\"}");
     }
-}
\ No newline at end of file
+
+    private record UploadResult(String originalFileName, String fileName, boolean deduplicated, String error) {
+
+        private static UploadResult invalid(String originalFileName, String error) {
+            return new UploadResult(originalFileName, null, false, error);
+        }
+    }
+
+    private record BatchUploadItem(int index, int status, String originalFileName, String filePath, String fileName,
+                                   long size, boolean deduplicated, String error) {
+    }
+}
@@ -0,0 +1,30 @@
+package me.davidgarmo.soundseeker.product.web.servlet;
+
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import me.davidgarmo.soundseeker.product.metrics.MetricsRegistry;
+
+import java.io.IOException;
+
+@WebServlet("/api/v1/metrics")
+public class MetricsServlet extends HttpServlet {
+    private final MetricsRegistry registry;
+
+    public MetricsServlet() {
+        this(MetricsRegistry.getDefault());
+    }
+
+    public MetricsServlet(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        resp.setStatus(HttpServletResponse.SC_OK);
+        resp.setContentType("text/plain; version=0.0.4; charset=UTF-8");
+        resp.setHeader("Cache-Control", "no-store");
+        registry.writePrometheus(resp.getWriter());
+    }
+}
@@ -1,85 +1,412 @@
 package me.davidgarmo.soundseeker.product.web.servlet;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonWriter;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import me.davidgarmo.soundseeker.product.metrics.MetricsRegistry;
+import me.davidgarmo.soundseeker.product.metrics.RequestTrace;
+import me.davidgarmo.soundseeker.product.persistence.dao.Page;
+import me.davidgarmo.soundseeker.product.persistence.dao.ProductField;
+import me.davidgarmo.soundseeker.product.persistence.dao.ProductFilter;
 import me.davidgarmo.soundseeker.product.persistence.entity.Product;
+import me.davidgarmo.soundseeker.product.persistence.impl.CachingProductDao;
 import me.davidgarmo.soundseeker.product.persistence.impl.ProductDaoH2;
+import me.davidgarmo.soundseeker.product.persistence.impl.TimedProductDao;
+import me.davidgarmo.soundseeker.product.service.BatchItemResult;
 import me.davidgarmo.soundseeker.product.service.expection.ProductNotFoundException;
+import me.davidgarmo.soundseeker.product.service.expection.ProductPersistenceException;
+import me.davidgarmo.soundseeker.product.service.expection.ProductVersionConflictException;
 import me.davidgarmo.soundseeker.product.service.impl.ProductService;
+import me.davidgarmo.soundseeker.product.service.search.ProductFacets;
+import me.davidgarmo.soundseeker.product.service.search.ProductSearchIndex;
+import me.davidgarmo.soundseeker.product.service.search.ProductSuggester;
+import me.davidgarmo.soundseeker.product.web.util.CatalogSnapshot;
+import me.davidgarmo.soundseeker.product.web.util.ProductJson;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @WebServlet(urlPatterns = "/api/v1/products/*")
 public class ProductServlet extends HttpServlet {
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final int CACHE_MAX_ENTRIES = Integer.getInteger("soundseeker.cache.maxEntries", 10_000);
+    private static final Duration CACHE_TTL = Duration.ofSeconds(Long.getLong("soundseeker.cache.ttlSeconds", 300L));
+    private static final Duration CACHE_NEGATIVE_TTL = Duration.ofSeconds(Long.getLong("soundseeker.cache.negativeTtlSeconds",
+            CachingProductDao.DEFAULT_NEGATIVE_TTL.toSeconds()));
+    private static final String[] FILTER_PARAMETERS = {"category", "brand", "minPrice", "maxPrice", "available", "sort"};
+    private static final int SNAPSHOT_MAX_BYTES = Integer.getInteger("soundseeker.snapshot.maxBytes", 8 * 1024 * 1024);
+    private static final int DEFAULT_SUGGESTION_LIMIT = 10;
+    private static final Type PRODUCT_PAGE_TYPE = new TypeToken<Page<Product>>() {
+    }.getType();
+
+    private final CachingProductDao productCache;
     private final ProductService productService;
+    private final CatalogSnapshot catalogSnapshot;
+    private final ProductSearchIndex searchIndex;
+    private final ProductSuggester suggester;
+    private final ProductFacets facets;
+    private final Map<String, Thread> loaders = new ConcurrentHashMap<>();
     private final Gson gson;
+    private final TypeAdapter<Product> productAdapter;
 
     public ProductServlet() {
-        this.productService = new ProductService(new ProductDaoH2());
-        this.gson = new Gson();
+        this.productCache = new CachingProductDao(new TimedProductDao(new ProductDaoH2(), MetricsRegistry.getDefault()),
+                CACHE_MAX_ENTRIES, CACHE_TTL, CACHE_NEGATIVE_TTL);
+        this.productService = new ProductService(productCache);
+        this.catalogSnapshot = new CatalogSnapshot(SNAPSHOT_MAX_BYTES);
+        this.searchIndex = new ProductSearchIndex(productService);
+        this.productService.addChangeListener(searchIndex);
+        this.suggester = new ProductSuggester(productService);
+        this.productService.addChangeListener(suggester);
+        this.facets = new ProductFacets(productService);
+        this.productService.addChangeListener(facets);
+        this.gson = ProductJson.newGson();
+        this.productAdapter = gson.getAdapter(Product.class);
+    }
+
+    public CachingProductDao getProductCache() {
+        return productCache;
+    }
+
+    public boolean isServedFromMemory(HttpServletRequest req) {
+        if (!"GET".equals(req.getMethod())) {
+            return false;
+        }
+        String pathInfo = req.getPathInfo();
+        if ("/search".equals(pathInfo) || "/suggest".equals(pathInfo) || "/facets".equals(pathInfo)) {
+            return true;
+        }
+        return isCatalogRequest(req) && catalogSnapshot.isCurrent(productService.getCatalogVersion());
+    }
+
+    private static void writeError(PrintWriter out, String message) {
+        try {
+            ProductJson.writeError(out, message);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     private static boolean verifyProductId(HttpServletResponse resp, String pathInfo, PrintWriter out) {
         if (pathInfo == null || pathInfo.equals("/")) {
             resp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-            out.print("{\"error\": \"Product ID is required.\"}");
+            writeError(out, "Product ID is required.");
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest req) {
+        String acceptEncoding = req.getHeader("Accept-Encoding");
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static boolean isCatalogRequest(HttpServletRequest req) {
+        String pathInfo = req.getPathInfo();
+        return (pathInfo == null || pathInfo.equals("/")) && req.getQueryString() == null;
+    }
+
+    private static boolean isFilterRequest(HttpServletRequest req) {
+        for (String parameter : FILTER_PARAMETERS) {
+            if (req.getParameter(parameter) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ProductFilter parseFilter(HttpServletRequest req) {
+        String limit = req.getParameter("limit");
+        return new ProductFilter(
+                parseLong(req.getParameter("category"), "Invalid category."),
+                blankToNull(req.getParameter("brand")),
+                parseDouble(req.getParameter("minPrice"), "Invalid minimum price."),
+                parseDouble(req.getParameter("maxPrice"), "Invalid maximum price."),
+                parseBoolean(req.getParameter("available")),
+                ProductFilter.Sort.fromParameter(req.getParameter("sort")),
+                limit == null || limit.isBlank() ? ProductService.MAX_FILTER_RESULTS : parsePageSize(limit));
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static Long parseLong(String value, String error) {
+        try {
+            return value == null || value.isBlank() ? null : Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(error);
+        }
+    }
+
+    private static Double parseDouble(String value, String error) {
+        try {
+            return value == null || value.isBlank() ? null : Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(error);
+        }
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return switch (value.trim().toLowerCase()) {
+            case "true" -> true;
+            case "false" -> false;
+            default -> throw new IllegalArgumentException("Invalid availability, expected true or false.");
+        };
+    }
+
+    private static int parsePageSize(String limit) {
+        if (limit == null || limit.isBlank()) {
+            return ProductService.DEFAULT_PAGE_SIZE;
+        }
+        try {
+            return Integer.parseInt(limit);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page size.");
+        }
+    }
+
+    private static String productETag(Product product) {
+        return "\"" + product.getId() + "-" + product.getVersion() + "\"";
+    }
+
+    private static boolean matchesETag(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Long parseIfMatch(String ifMatch, Long id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String prefix = "\"" + id + "-";
+        String tag = ifMatch.trim();
+        if (tag.startsWith(prefix) && tag.endsWith("\"")) {
+            String version = tag.substring(prefix.length(), tag.length() - 1);
+            if (!version.isEmpty() && version.length() < 19 && version.chars().allMatch(Character::isDigit)) {
+                return Long.parseLong(version);
+            }
+        }
+        throw new ProductVersionConflictException("✘ If-Match does not name a version of product " + id + ": " + ifMatch);
+    }
+
+    private static int parseResultLimit(String limit) {
+        int size = parsePageSize(limit);
+        if (size < 1 || size > ProductService.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + ProductService.MAX_PAGE_SIZE + ".");
+        }
+        return size;
+    }
+
+    @Override
+    public void init() {
+        if (!Boolean.parseBoolean(System.getProperty("soundseeker.search.preload", "true"))) {
+            return;
+        }
+        preload("search-index-loader", searchIndex::load);
+        preload("suggester-loader", suggester::load);
+        preload("facets-loader", facets::load);
+    }
+
+    private void preload(String name, Runnable load) {
+        loaders.compute(name, (key, running) -> running != null && running.isAlive() ? running
+                : Thread.ofVirtual().name(name).start(() -> {
+                    try {
+                        load.run();
+                    } catch (RuntimeException e) {
+                        LOGGER.error("✘ Error running {}, it will be retried on the next request: {}", name, e.getMessage());
+                    }
+                }));
+    }
+
+    private boolean isReady(boolean loaded, String loader, Runnable load, HttpServletResponse resp, PrintWriter out) {
+        if (loaded) {
             return true;
         }
+        preload(loader, load);
+        resp.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        resp.setHeader("Retry-After", "1");
+        writeError(out, "Search is still loading, try again shortly.");
         return false;
     }
 
     @Override
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
         resp.setContentType("application/json; charset=UTF-8");
+        if (isCatalogRequest(req)) {
+            try {
+                if (serveCatalogSnapshot(req, resp)) {
+                    return;
+                }
+            } catch (ProductPersistenceException e) {
+                resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                writeError(resp.getWriter(), "Products could not be loaded.");
+                return;
+            }
+        }
+
         PrintWriter out = resp.getWriter();
         String pathInfo = req.getPathInfo();
 
         try {
             if (pathInfo == null || pathInfo.equals("/")) {
-                List<Product> products = productService.findAll();
-                resp.setStatus(HttpServletResponse.SC_OK);
-                out.print(gson.toJson(products));
+                String after = req.getParameter("after");
+                String limit = req.getParameter("limit");
+                Set<ProductField> fields = ProductField.fromParameter(req.getParameter("fields"));
+                if (isFilterRequest(req)) {
+                    List<Product> products = productService.findByFilter(parseFilter(req), fields);
+                    resp.setStatus(HttpServletResponse.SC_OK);
+                    writeJson(products, out);
+                } else if (after != null || limit != null) {
+                    Page<Product> page = productService.findPage(after, parsePageSize(limit), fields);
+                    resp.setStatus(HttpServletResponse.SC_OK);
+                    writeJson(page, PRODUCT_PAGE_TYPE, out);
+                } else {
+                    resp.setStatus(HttpServletResponse.SC_OK);
+                    writeCatalog(out, fields);
+                }
+            } else if (pathInfo.equals("/search")) {
+                String query = req.getParameter("q");
+                if (query == null || query.isBlank()) {
+                    throw new IllegalArgumentException("Search query is required.");
+                }
+                if (isReady(searchIndex.isLoaded(), "search-index-loader", searchIndex::load, resp, out)) {
+                    List<Product> products = searchIndex.search(query, parseResultLimit(req.getParameter("limit")));
+                    resp.setStatus(HttpServletResponse.SC_OK);
+                    writeJson(products, out);
+                }
+            } else if (pathInfo.equals("/suggest")) {
+                String prefix = req.getParameter("prefix");
+                if (prefix == null || prefix.isBlank()) {
+                    throw new IllegalArgumentException("Suggestion prefix is required.");
+                }
+                String limit = req.getParameter("limit");
+                int resultLimit = limit == null ? DEFAULT_SUGGESTION_LIMIT : parseResultLimit(limit);
+                if (isReady(suggester.isLoaded(), "suggester-loader", suggester::load, resp, out)) {
+                    List<ProductSuggester.Suggestion> suggestions = suggester.suggest(prefix, resultLimit);
+                    resp.setStatus(HttpServletResponse.SC_OK);
+                    writeJson(suggestions, out);
+                }
+            } else if (pathInfo.equals("/facets")) {
+                ProductFilter filter = isFilterRequest(req) ? parseFilter(req) : null;
+                if (isReady(facets.isLoaded(), "facets-loader", facets::load, resp, out)) {
+                    ProductFacets.Facets counts = filter != null ? facets.counts(filter) : facets.counts();
+                    resp.setStatus(HttpServletResponse.SC_OK);
+                    writeJson(counts, out);
+                }
             } else {
                 Long id = Long.parseLong(pathInfo.substring(1));
                 try {
                     Product product = productService.findById(id);
-                    resp.setStatus(HttpServletResponse.SC_OK);
-                    out.print(gson.toJson(product));
+                    String eTag = productETag(product);
+                    resp.setHeader("ETag", eTag);
+                    if (matchesETag(req.getHeader("If-None-Match"), eTag)) {
+                        resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                    } else {
+                        resp.setStatus(HttpServletResponse.SC_OK);
+                        writeJson(product, out);
+                    }
                 } catch (ProductNotFoundException e) {
                     resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
-                    out.print("{\"error\": \"Product not found.\"}");
+                    writeError(out, "Product not found.");
                 }
             }
         } catch (NumberFormatException e) {
             resp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-            out.print("{\"error\": \"Invalid product ID.\"}");
+            writeError(out, "Invalid product ID.");
+        } catch (IllegalArgumentException e) {
+            resp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            writeError(out, e.getMessage());
+        } catch (ProductPersistenceException e) {
+            if (resp.isCommitted()) {
+                throw new ServletException("Product stream failed after the response was committed.", e);
+            }
+            resp.resetBuffer();
+            resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            writeError(out, "Products could not be loaded.");
         } catch (Exception e) {
             resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-            out.print("{\"error\": \"" + e.getMessage() + "\"}");
+            writeError(out, e.getMessage());
         }
 
         out.flush();
     }
 
+    private static int toStatusCode(BatchItemResult.Status status) {
+        return switch (status) {
+            case CREATED -> HttpServletResponse.SC_CREATED;
+            case UPDATED -> HttpServletResponse.SC_OK;
+            case INVALID -> HttpServletResponse.SC_BAD_REQUEST;
+            case NOT_FOUND -> HttpServletResponse.SC_NOT_FOUND;
+            case CONFLICT -> HttpServletResponse.SC_PRECONDITION_FAILED;
+            case FAILED -> HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        };
+    }
+
     @Override
     protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
         resp.setContentType("application/json; charset=UTF-8");
         PrintWriter out = resp.getWriter();
+
+        if ("/batch".equals(req.getPathInfo())) {
+            doPostBatch(req, resp, out);
+            out.flush();
+            return;
+        }
+
         Product product = gson.fromJson(req.getReader(), Product.class);
 
         try {
             Product savedProduct = productService.save(product);
             resp.setStatus(HttpServletResponse.SC_CREATED);
-            out.print(gson.toJson(savedProduct));
+            writeJson(savedProduct, out);
         } catch (Exception e) {
             resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-            out.print("{\"error\": \"" + e.getMessage() + "\"}");
+            writeError(out, e.getMessage());
         }
 
         out.flush();
@@ -95,26 +422,33 @@ public class ProductServlet extends HttpServlet {
         try {
             if (verifyProductId(resp, pathInfo, out)) return;
             Long id = Long.parseLong(pathInfo.substring(1));
-            if (verifyProductExistence(resp, id, out)) return;
 
             Product updatedProduct = gson.fromJson(req.getReader(), Product.class);
             updatedProduct.setId(id);
+            updatedProduct.setVersion(parseIfMatch(req.getHeader("If-Match"), id));
 
             Product result = productService.update(updatedProduct);
 
             if (result != null) {
+                resp.setHeader("ETag", productETag(result));
                 resp.setStatus(HttpServletResponse.SC_OK);
-                out.print(gson.toJson(result));
+                writeJson(result, out);
             } else {
                 resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-                out.print("{\"error\": \"Failed to update product.\"}");
+                writeError(out, "Failed to update product.");
             }
         } catch (NumberFormatException e) {
             resp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-            out.print("{\"error\": \"Invalid product ID.\"}");
+            writeError(out, "Invalid product ID.");
+        } catch (ProductNotFoundException e) {
+            resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            writeError(out, "Product not found.");
+        } catch (ProductVersionConflictException e) {
+            resp.setStatus(HttpServletResponse.SC_PRECONDITION_FAILED);
+            writeError(out, "Product was modified by another request.");
         } catch (Exception e) {
             resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-            out.print("{\"error\": \"" + e.getMessage() + "\"}");
+            writeError(out, e.getMessage());
         }
 
         out.flush();
@@ -130,30 +464,166 @@ public class ProductServlet extends HttpServlet {
         try {
             if (verifyProductId(resp, pathInfo, out)) return;
             Long id = Long.parseLong(pathInfo.substring(1));
-            if (verifyProductExistence(resp, id, out)) return;
 
-            productService.delete(id);
+            productService.delete(id, parseIfMatch(req.getHeader("If-Match"), id));
 
             resp.setStatus(HttpServletResponse.SC_NO_CONTENT);
         } catch (NumberFormatException e) {
             resp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-            out.print("{\"error\": \"Invalid product ID.\"}");
+            writeError(out, "Invalid product ID.");
+        } catch (ProductNotFoundException e) {
+            resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            writeError(out, "Product not found.");
+        } catch (ProductVersionConflictException e) {
+            resp.setStatus(HttpServletResponse.SC_PRECONDITION_FAILED);
+            writeError(out, "Product was modified by another request.");
         } catch (Exception e) {
             resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-            out.print("{\"error\": \"" + e.getMessage() + "\"}");
+            writeError(out, e.getMessage());
         }
 
         out.flush();
     }
 
-    private boolean verifyProductExistence(HttpServletResponse resp, Long id, PrintWriter out) {
+    private void doPostBatch(HttpServletRequest req, HttpServletResponse resp, PrintWriter out) throws IOException {
         try {
-            productService.findById(id);
-        } catch (ProductNotFoundException e) {
-            resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
-            out.print("{\"error\": \"Product not found.\"}");
+            List<Product> products = readBatch(req);
+            if (products.isEmpty() || products.size() > ProductService.MAX_BATCH_SIZE) {
+                throw new IllegalArgumentException("Batch must contain between 1 and " + ProductService.MAX_BATCH_SIZE + " products.");
+            }
+
+            List<Product> creates = new ArrayList<>();
+            List<Integer> createIndexes = new ArrayList<>();
+            List<Product> updates = new ArrayList<>();
+            List<Integer> updateIndexes = new ArrayList<>();
+            for (int i = 0; i < products.size(); i++) {
+                Product product = products.get(i);
+                if (product != null && product.getId() != null) {
+                    updates.add(product);
+                    updateIndexes.add(i);
+                } else {
+                    creates.add(product);
+                    createIndexes.add(i);
+                }
+            }
+
+            BatchResponseItem[] items = new BatchResponseItem[products.size()];
+            if (!creates.isEmpty()) {
+                collectBatchResults(productService.saveAll(creates), createIndexes, items);
+            }
+            if (!updates.isEmpty()) {
+                collectBatchResults(productService.updateAll(updates), updateIndexes, items);
+            }
+
+            resp.setStatus(HttpServletResponse.SC_OK);
+            writeJson(items, out);
+        } catch (JsonParseException e) {
+            resp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            writeError(out, "Invalid batch body, a JSON array of products is expected.");
+        } catch (IllegalArgumentException e) {
+            resp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            writeError(out, e.getMessage());
+        } catch (Exception e) {
+            resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            writeError(out, e.getMessage());
+        }
+    }
+
+    private List<Product> readBatch(HttpServletRequest req) throws IOException {
+        JsonElement body = JsonParser.parseReader(req.getReader());
+        if (body.isJsonNull()) {
+            return List.of();
+        }
+        if (!body.isJsonArray()) {
+            throw new JsonParseException("Batch body is not a JSON array.");
+        }
+
+        List<Product> products = new ArrayList<>(body.getAsJsonArray().size());
+        for (JsonElement element : body.getAsJsonArray()) {
+            Product product = gson.fromJson(element, Product.class);
+            if (product != null && element.isJsonObject() && element.getAsJsonObject().has("version")) {
+                JsonElement version = element.getAsJsonObject().get("version");
+                if (!version.isJsonPrimitive() || !version.getAsJsonPrimitive().isNumber()) {
+                    throw new IllegalArgumentException("Item " + products.size() + " has an invalid version.");
+                }
+                product.setVersion(version.getAsLong());
+            }
+            products.add(product);
+        }
+        return products;
+    }
+
+    private void collectBatchResults(List<BatchItemResult> results, List<Integer> indexes, BatchResponseItem[] items) {
+        for (int i = 0; i < results.size(); i++) {
+            BatchItemResult result = results.get(i);
+            int index = indexes.get(i);
+            Product product = result.product();
+            items[index] = new BatchResponseItem(index, toStatusCode(result.status()), product,
+                    product == null ? null : product.getVersion(), result.error());
+        }
+    }
+
+    private boolean serveCatalogSnapshot(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        CatalogSnapshot.Snapshot snapshot = catalogSnapshot.get(productService.getCatalogVersion(), this::writeCatalog);
+        if (snapshot == null) {
+            return false;
+        }
+
+        boolean gzip = acceptsGzip(req);
+        resp.setHeader("ETag", gzip ? snapshot.gzipETag() : snapshot.eTag());
+        resp.setHeader("Cache-Control", "no-cache");
+        resp.setHeader("Vary", "Accept-Encoding");
+
+        if (snapshot.matches(req.getHeader("If-None-Match"))) {
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
             return true;
         }
-        return false;
+
+        byte[] body = gzip ? snapshot.gzip() : snapshot.json();
+        if (gzip) {
+            resp.setHeader("Content-Encoding", "gzip");
+        }
+        resp.setStatus(HttpServletResponse.SC_OK);
+        resp.setContentLength(body.length);
+        resp.getOutputStream().write(body);
+        return true;
+    }
+
+    private void writeCatalog(Writer out) throws IOException {
+        writeCatalog(out, ProductField.ALL);
+    }
+
+    private void writeJson(Object value, Writer out) {
+        long serializationStart = RequestTrace.begin();
+        gson.toJson(value, out);
+        RequestTrace.end(RequestTrace.Phase.SERIALIZE, serializationStart);
+    }
+
+    private void writeJson(Object value, Type type, Writer out) {
+        long serializationStart = RequestTrace.begin();
+        gson.toJson(value, type, out);
+        RequestTrace.end(RequestTrace.Phase.SERIALIZE, serializationStart);
+    }
+
+    private void writeCatalog(Writer out, Set<ProductField> fields) throws IOException {
+        JsonWriter jsonWriter = gson.newJsonWriter(out);
+        RequestTrace trace = RequestTrace.current();
+        jsonWriter.beginArray();
+        productService.streamAll(fields, product -> {
+            long serializationStart = trace == null ? 0L : System.nanoTime();
+            try {
+                productAdapter.write(jsonWriter, product);
+            } catch (IOException e) {
+                throw new JsonIOException(e);
+            }
+            if (trace != null) {
+                trace.add(RequestTrace.Phase.SERIALIZE, System.nanoTime() - serializationStart);
+            }
+        });
+        jsonWriter.endArray();
+        jsonWriter.flush();
+    }
+
+    private record BatchResponseItem(int index, int status, Product product, Long version, String error) {
     }
 }
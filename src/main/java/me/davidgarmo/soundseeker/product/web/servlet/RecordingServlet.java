@@ -0,0 +1,137 @@
+package me.davidgarmo.soundseeker.product.web.servlet;
+
+import com.google.gson.Gson;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import me.davidgarmo.soundseeker.product.web.util.ProductJson;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+@WebServlet("/api/v1/admin/recording/*")
+public class RecordingServlet extends HttpServlet {
+    public static final String RECORDING_DIR_PROPERTY = "soundseeker.jfr.dir";
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final Gson gson = new Gson();
+    private final Path recordingDir;
+    private Recording recording;
+
+    public RecordingServlet() {
+        this(Path.of(System.getProperty(RECORDING_DIR_PROPERTY, System.getProperty("java.io.tmpdir"))));
+    }
+
+    public RecordingServlet(Path recordingDir) {
+        this.recordingDir = recordingDir;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        resp.setContentType("application/json; charset=UTF-8");
+        if (!isLocal(req, resp)) {
+            return;
+        }
+        synchronized (this) {
+            resp.setStatus(HttpServletResponse.SC_OK);
+            writeStatus(resp.getWriter(), null);
+        }
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        resp.setContentType("application/json; charset=UTF-8");
+        if (!isLocal(req, resp)) {
+            return;
+        }
+        PrintWriter out = resp.getWriter();
+        String action = req.getPathInfo() == null ? "" : req.getPathInfo();
+
+        synchronized (this) {
+            try {
+                switch (action) {
+                    case "/start" -> {
+                        if (recording != null) {
+                            resp.setStatus(HttpServletResponse.SC_CONFLICT);
+                            ProductJson.writeError(out, "A recording is already running.");
+                            return;
+                        }
+                        String settings = req.getParameter("settings") == null ? "profile" : req.getParameter("settings");
+                        recording = new Recording(Configuration.getConfiguration(settings));
+                        recording.setName("soundseeker");
+                        recording.setToDisk(true);
+                        recording.start();
+                        LOGGER.info("✔ Flight recording started with the {} settings.", settings);
+                        resp.setStatus(HttpServletResponse.SC_OK);
+                        writeStatus(out, null);
+                    }
+                    case "/dump", "/stop" -> {
+                        if (recording == null) {
+                            resp.setStatus(HttpServletResponse.SC_CONFLICT);
+                            ProductJson.writeError(out, "No recording is running.");
+                            return;
+                        }
+                        Path file = recordingDir.resolve("soundseeker-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+                        Files.createDirectories(recordingDir);
+                        if (action.equals("/stop")) {
+                            recording.stop();
+                        }
+                        recording.dump(file);
+                        if (action.equals("/stop")) {
+                            recording.close();
+                            recording = null;
+                        }
+                        LOGGER.info("✔ Flight recording dumped to {}.", file);
+                        resp.setStatus(HttpServletResponse.SC_OK);
+                        writeStatus(out, file);
+                    }
+                    default -> {
+                        resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                        ProductJson.writeError(out, "Unknown recording action, allowed values: start, dump, stop.");
+                    }
+                }
+            } catch (ParseException | IOException e) {
+                LOGGER.error("✘ Error handling recording action {}: {}", action, e.getMessage());
+                resp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                ProductJson.writeError(out, "Recording could not be handled: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private boolean isLocal(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        if (InetAddress.getByName(req.getRemoteAddr()).isLoopbackAddress()) {
+            return true;
+        }
+        resp.setStatus(HttpServletResponse.SC_FORBIDDEN);
+        ProductJson.writeError(resp.getWriter(), "Recordings can only be managed from localhost.");
+        return false;
+    }
+
+    private void writeStatus(PrintWriter out, Path file) {
+        String state = recording == null ? "STOPPED" : recording.getState().name();
+        gson.toJson(new RecordingStatus(state, file == null ? null : file.toString()), out);
+    }
+
+    private record RecordingStatus(String state, String file) {
+    }
+}
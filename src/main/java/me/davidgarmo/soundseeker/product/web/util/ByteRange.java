@@ -0,0 +1,94 @@
+package me.davidgarmo.soundseeker.product.web.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+public record ByteRange(long start, long end) {
+    public static final int MAX_RANGES = 16;
+    private static final String UNIT_PREFIX = "bytes=";
+
+    public static List<ByteRange> parse(String header, long size) {
+        if (header == null || !header.startsWith(UNIT_PREFIX)) {
+            return null;
+        }
+
+        String[] specs = header.substring(UNIT_PREFIX.length()).split(",");
+        if (specs.length > MAX_RANGES) {
+            return null;
+        }
+
+        List<ByteRange> ranges = new ArrayList<>(specs.length);
+        for (String spec : specs) {
+            String trimmed = spec.trim();
+            int dash = trimmed.indexOf('-');
+            if (dash < 0) {
+                return null;
+            }
+            String first = trimmed.substring(0, dash);
+            String last = trimmed.substring(dash + 1);
+            if ((!first.isEmpty() && !isDigits(first)) || (!last.isEmpty() && !isDigits(last))
+                    || (first.isEmpty() && last.isEmpty())) {
+                return null;
+            }
+
+            if (first.isEmpty()) {
+                long suffix = Long.parseLong(last);
+                if (suffix > 0 && size > 0) {
+                    ranges.add(new ByteRange(Math.max(0, size - suffix), size - 1));
+                }
+                continue;
+            }
+
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+            if (end < start) {
+                return null;
+            }
+            if (start < size) {
+                ranges.add(new ByteRange(start, Math.min(end, size - 1)));
+            }
+        }
+        return coalesce(ranges);
+    }
+
+    private static boolean isDigits(String value) {
+        if (value.isEmpty() || value.length() > 18) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<ByteRange> coalesce(List<ByteRange> ranges) {
+        if (ranges.size() < 2) {
+            return ranges;
+        }
+        ranges.sort(Comparator.comparingLong(ByteRange::start));
+        List<ByteRange> merged = new ArrayList<>(ranges.size());
+        ByteRange current = ranges.get(0);
+        for (int i = 1; i < ranges.size(); i++) {
+            ByteRange next = ranges.get(i);
+            if (next.start() <= current.end() + 1) {
+                current = new ByteRange(current.start(), Math.max(current.end(), next.end()));
+            } else {
+                merged.add(current);
+                current = next;
+            }
+        }
+        merged.add(current);
+        return merged;
+    }
+
+    public long length() {
+        return end - start + 1;
+    }
+
+    public String toContentRange(long size) {
+        return "bytes " + start + "-" + end + "/" + size;
+    }
+}
@@ -0,0 +1,139 @@
+package me.davidgarmo.soundseeker.product.web.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.zip.GZIPOutputStream;
+
+public class CatalogSnapshot {
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final long NO_VERSION = Long.MIN_VALUE;
+
+    private final int maxBytes;
+    private volatile Snapshot current;
+    private volatile long oversizedVersion = NO_VERSION;
+
+    public CatalogSnapshot(int maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    private static String strongETag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 27);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressed)) {
+            gzipOutputStream.write(json);
+        }
+        return compressed.toByteArray();
+    }
+
+    public boolean isCurrent(long version) {
+        Snapshot snapshot = current;
+        return snapshot != null && snapshot.version() == version;
+    }
+
+    public Snapshot get(long version, CatalogWriter catalogWriter) throws IOException {
+        Snapshot snapshot = current;
+        if (snapshot != null && snapshot.version() == version) {
+            return snapshot;
+        }
+        if (oversizedVersion == version) {
+            return null;
+        }
+        return rebuild(version, catalogWriter);
+    }
+
+    private synchronized Snapshot rebuild(long version, CatalogWriter catalogWriter) throws IOException {
+        Snapshot snapshot = current;
+        if (snapshot != null && snapshot.version() == version) {
+            return snapshot;
+        }
+
+        BoundedOutputStream json = new BoundedOutputStream(maxBytes);
+        try (Writer writer = new OutputStreamWriter(json, StandardCharsets.UTF_8)) {
+            catalogWriter.write(writer);
+        } catch (SnapshotTooLargeException e) {
+            oversizedVersion = version;
+            current = null;
+            LOGGER.info("✔ Catalog version {} exceeds the {} bytes snapshot budget, it will be streamed.", version, maxBytes);
+            return null;
+        }
+
+        byte[] jsonBytes = json.toByteArray();
+        String hash = strongETag(jsonBytes);
+        snapshot = new Snapshot(version, jsonBytes, gzip(jsonBytes), "\"" + hash + "\"", "\"" + hash + "-gzip\"");
+        current = snapshot;
+        LOGGER.debug("✔ Catalog snapshot rebuilt for version {}: {} bytes, {} bytes gzipped.",
+                version, jsonBytes.length, snapshot.gzip().length);
+        return snapshot;
+    }
+
+    @FunctionalInterface
+    public interface CatalogWriter {
+        void write(Writer writer) throws IOException;
+    }
+
+    public record Snapshot(long version, byte[] json, byte[] gzip, String eTag, String gzipETag) {
+
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*") || tag.equals(eTag) || tag.equals(gzipETag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static class SnapshotTooLargeException extends RuntimeException {
+        SnapshotTooLargeException() {
+            super("Catalog snapshot budget exceeded.", null, false, false);
+        }
+    }
+
+    private static class BoundedOutputStream extends ByteArrayOutputStream {
+        private final int maxBytes;
+
+        BoundedOutputStream(int maxBytes) {
+            super(Math.min(maxBytes, 64 * 1024));
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            ensureCapacityFor(1);
+            super.write(b);
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            ensureCapacityFor(len);
+            super.write(b, off, len);
+        }
+
+        private void ensureCapacityFor(int len) {
+            if (count + len > maxBytes) {
+                throw new SnapshotTooLargeException();
+            }
+        }
+    }
+}
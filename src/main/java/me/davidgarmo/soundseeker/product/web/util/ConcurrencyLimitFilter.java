@@ -0,0 +1,95 @@
+package me.davidgarmo.soundseeker.product.web.util;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+public class ConcurrencyLimitFilter implements Filter {
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final long WARN_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final Semaphore permits;
+    private final long timeoutNanos;
+    private final LongAdder rejected;
+    private final Predicate<HttpServletRequest> exempt;
+    private final AtomicLong nextWarnNanos = new AtomicLong(System.nanoTime());
+
+    public ConcurrencyLimitFilter(int maxConcurrentRequests, Duration timeout) {
+        this(maxConcurrentRequests, timeout, new LongAdder(), request -> false);
+    }
+
+    public ConcurrencyLimitFilter(int maxConcurrentRequests, Duration timeout, LongAdder rejected,
+                                  Predicate<HttpServletRequest> exempt) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("Maximum concurrent requests must be at least 1.");
+        }
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.timeoutNanos = timeout.toNanos();
+        this.rejected = rejected;
+        this.exempt = exempt;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        if (exempt.test((HttpServletRequest) request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            rejected.increment();
+            warnRateLimited();
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            httpResponse.setHeader("Retry-After", "1");
+            httpResponse.setContentType("application/json; charset=UTF-8");
+            httpResponse.getWriter().print("{\"error\": \"Server is busy, try again later.\"}");
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void warnRateLimited() {
+        long now = System.nanoTime();
+        long next = nextWarnNanos.get();
+        if (now - next >= 0 && nextWarnNanos.compareAndSet(next, now + WARN_INTERVAL_NANOS)) {
+            LOGGER.warn("✘ Requests are being rejected, every permit stayed busy for {} ms ({} rejected so far).",
+                    TimeUnit.NANOSECONDS.toMillis(timeoutNanos), rejected.sum());
+        }
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,111 @@
+package me.davidgarmo.soundseeker.product.web.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+public class ContentAddressedStore {
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final Pattern CONTENT_ADDRESSED_PATH =
+            Pattern.compile("[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}(-w[0-9]+)?\\.[a-z0-9]+");
+
+    private final Path root;
+
+    public ContentAddressedStore(Path root) {
+        this.root = root;
+    }
+
+    public static boolean isContentAddressed(String relativePath) {
+        return CONTENT_ADDRESSED_PATH.matcher(relativePath).matches();
+    }
+
+    public static String pathFor(String hash, String extension) {
+        return hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + "." + extension;
+    }
+
+    public Path createTemporary() throws IOException {
+        return Files.createTempFile(root, ".upload-", ".tmp");
+    }
+
+    public StoredFile store(InputStream content, String extension) throws IOException {
+        Path temporary = createTemporary();
+        try {
+            MessageDigest digest = sha256();
+            Files.copy(new DigestInputStream(content, digest), temporary, StandardCopyOption.REPLACE_EXISTING);
+            return publish(temporary, HexFormat.of().formatHex(digest.digest()), extension);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Stores a file that is already on disk under {@link #root}, such as an upload spooled by the container, without
+     * copying it. The temporary file is always consumed.
+     */
+    public StoredFile store(Path temporary, String extension) throws IOException {
+        try {
+            return publish(temporary, sha256(temporary), extension);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private StoredFile publish(Path temporary, String hash, String extension) throws IOException {
+        String relativePath = pathFor(hash, extension);
+        Path target = root.resolve(relativePath);
+
+        if (Files.isRegularFile(target)) {
+            LOGGER.debug("✔ Upload deduplicated into existing file {}.", relativePath);
+            return new StoredFile(relativePath, hash, true);
+        }
+
+        Files.createDirectories(target.getParent());
+        try {
+            // A rename would silently replace a target written concurrently; a link fails if it already exists.
+            Files.createLink(target, temporary);
+        } catch (FileAlreadyExistsException e) {
+            LOGGER.debug("✔ Upload deduplicated into concurrently stored file {}.", relativePath);
+            return new StoredFile(relativePath, hash, true);
+        }
+        return new StoredFile(relativePath, hash, false);
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+
+    public record StoredFile(String relativePath, String hash, boolean deduplicated) {
+    }
+}
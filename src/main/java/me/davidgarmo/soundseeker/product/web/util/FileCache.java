@@ -0,0 +1,174 @@
+package me.davidgarmo.soundseeker.product.web.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class FileCache {
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final int MAX_FREQUENCY = 15;
+    private static final long DEFAULT_MAX_BYTES = Long.getLong("soundseeker.fileCache.maxBytes", 64L * 1024 * 1024);
+    private static final long DEFAULT_MAX_ENTRY_BYTES = Long.getLong("soundseeker.fileCache.maxEntryBytes", 1024L * 1024);
+
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder uncacheable = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final AtomicLong generation = new AtomicLong();
+    private long usedBytes;
+
+    public FileCache() {
+        this(DEFAULT_MAX_BYTES, DEFAULT_MAX_ENTRY_BYTES);
+    }
+
+    public FileCache(long maxBytes, long maxEntryBytes) {
+        if (maxBytes < 0 || maxEntryBytes < 0) {
+            throw new IllegalArgumentException("File cache budgets cannot be negative.");
+        }
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = Math.min(maxEntryBytes, Math.min(maxBytes, Integer.MAX_VALUE));
+    }
+
+    public CachedFile get(String key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.frequency < MAX_FREQUENCY) {
+                entry.frequency++;
+            }
+            hits.increment();
+            return entry.file;
+        }
+    }
+
+    public CachedFile load(String key, Path path, String contentType, long size, long lastModified, String eTag) throws IOException {
+        if (size > maxEntryBytes) {
+            uncacheable.increment();
+            return null;
+        }
+        misses.increment();
+
+        long observedGeneration = generation.get();
+        ByteBuffer content = ByteBuffer.allocateDirect((int) size);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (content.hasRemaining()) {
+                if (channel.read(content) < 0) {
+                    LOGGER.warn("✘ File {} shrank while it was being cached.", key);
+                    return null;
+                }
+            }
+        }
+        content.flip();
+        CachedFile file = new CachedFile(content.asReadOnlyBuffer(), contentType, size, lastModified, eTag);
+
+        synchronized (entries) {
+            if (generation.get() != observedGeneration) {
+                return file;
+            }
+            Entry previous = entries.remove(key);
+            if (previous != null) {
+                usedBytes -= previous.file.size();
+            }
+            evictUntilFits(size);
+            entries.put(key, new Entry(file));
+            usedBytes += size;
+        }
+        return file;
+    }
+
+    public void invalidate(String key) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            Entry removed = entries.remove(key);
+            if (removed != null) {
+                usedBytes -= removed.file.size();
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+            usedBytes = 0;
+        }
+    }
+
+    private void evictUntilFits(long incoming) {
+        while (usedBytes + incoming > maxBytes && !entries.isEmpty()) {
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+            Map.Entry<String, Entry> eldest = iterator.next();
+            iterator.remove();
+
+            Entry entry = eldest.getValue();
+            if (entry.frequency > 0) {
+                entry.frequency >>>= 1;
+                entries.put(eldest.getKey(), entry);
+            } else {
+                usedBytes -= entry.file.size();
+                evictions.increment();
+            }
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getUncacheableCount() {
+        return uncacheable.sum();
+    }
+
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getUsedBytes() {
+        synchronized (entries) {
+            return usedBytes;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public record CachedFile(ByteBuffer content, String contentType, long size, long lastModified, String eTag) {
+    }
+
+    private static final class Entry {
+        private final CachedFile file;
+        private int frequency;
+
+        private Entry(CachedFile file) {
+            this.file = file;
+        }
+    }
+}
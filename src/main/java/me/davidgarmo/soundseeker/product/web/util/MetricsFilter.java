@@ -0,0 +1,102 @@
+package me.davidgarmo.soundseeker.product.web.util;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import me.davidgarmo.soundseeker.product.metrics.LatencyHistogram;
+import me.davidgarmo.soundseeker.product.metrics.MetricsRegistry;
+import me.davidgarmo.soundseeker.product.metrics.jfr.HttpRequestEvent;
+import org.apache.catalina.connector.ResponseFacade;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class MetricsFilter implements Filter {
+    private static final Set<String> KNOWN_METHODS = Set.of("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS");
+
+    private final MetricsRegistry registry;
+    private final ConcurrentMap<String, RouteMetrics> routes = new ConcurrentHashMap<>();
+
+    public MetricsFilter(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        HttpRequestEvent event = new HttpRequestEvent();
+        event.begin();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            int status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : httpResponse.getStatus();
+            String route = route(httpRequest);
+            String method = method(httpRequest);
+            metricsFor(route, method).record(status, elapsed);
+            event.end();
+            if (event.shouldCommit()) {
+                event.route = route;
+                event.method = method;
+                event.uri = httpRequest.getRequestURI();
+                event.status = status;
+                event.bytes = response instanceof ResponseFacade facade ? facade.getContentWritten() : -1L;
+                event.commit();
+            }
+        }
+    }
+
+    private RouteMetrics metricsFor(String route, String method) {
+        String key = route + ' ' + method;
+        RouteMetrics metrics = routes.get(key);
+        return metrics != null ? metrics : routes.computeIfAbsent(key, ignored -> new RouteMetrics(registry, route, method));
+    }
+
+    private static String route(HttpServletRequest request) {
+        String pattern = request.getHttpServletMapping().getPattern();
+        if (pattern.endsWith("/*")) {
+            return pattern.substring(0, pattern.length() - 2);
+        }
+        return pattern.isEmpty() ? "/" : pattern;
+    }
+
+    private static String method(HttpServletRequest request) {
+        String method = request.getMethod();
+        return KNOWN_METHODS.contains(method) ? method : "OTHER";
+    }
+
+    private static final class RouteMetrics {
+        private final LongAdder requests;
+        private final LongAdder clientErrors;
+        private final LongAdder serverErrors;
+        private final LatencyHistogram latency;
+
+        private RouteMetrics(MetricsRegistry registry, String route, String method) {
+            this.requests = registry.counter("soundseeker_http_requests_total", "HTTP requests handled.",
+                    "route", route, "method", method);
+            this.clientErrors = registry.counter("soundseeker_http_request_errors_total", "HTTP requests answered with an error status.",
+                    "route", route, "method", method, "status", "4xx");
+            this.serverErrors = registry.counter("soundseeker_http_request_errors_total", "HTTP requests answered with an error status.",
+                    "route", route, "method", method, "status", "5xx");
+            this.latency = registry.timer("soundseeker_http_request_duration_seconds", "HTTP request latency.",
+                    "route", route, "method", method);
+        }
+
+        private void record(int status, long elapsedNanos) {
+            requests.increment();
+            if (status >= 500) {
+                serverErrors.increment();
+            } else if (status >= 400) {
+                clientErrors.increment();
+            }
+            latency.record(elapsedNanos);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package me.davidgarmo.soundseeker.product.web.util;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonWriter;
+import me.davidgarmo.soundseeker.product.persistence.entity.Product;
+
+import java.io.IOException;
+import java.io.Writer;
+
+public final class ProductJson {
+
+    private ProductJson() {
+    }
+
+    public static Gson newGson() {
+        return new GsonBuilder()
+                .registerTypeAdapter(Product.class, new ProductTypeAdapter())
+                .create();
+    }
+
+    public static void writeError(Writer out, String message) throws IOException {
+        JsonWriter writer = new JsonWriter(out);
+        writer.beginObject().name("error").value(message).endObject();
+        writer.flush();
+    }
+}
@@ -0,0 +1,87 @@
+package me.davidgarmo.soundseeker.product.web.util;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.davidgarmo.soundseeker.product.persistence.entity.Product;
+
+import java.io.IOException;
+
+public class ProductTypeAdapter extends TypeAdapter<Product> {
+
+    @Override
+    public void write(JsonWriter out, Product product) throws IOException {
+        if (product == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        Long id = product.getId();
+        if (id != null) {
+            out.name("id").value(id.longValue());
+        }
+        writeString(out, "name", product.getName());
+        writeString(out, "description", product.getDescription());
+        writeString(out, "brand", product.getBrand());
+        Double price = product.getPrice();
+        if (price != null) {
+            out.name("price").value(price.doubleValue());
+        }
+        Boolean available = product.getAvailable();
+        if (available != null) {
+            out.name("available").value(available.booleanValue());
+        }
+        writeString(out, "thumbnail", product.getThumbnail());
+        Long categoryId = product.getCategoryId();
+        if (categoryId != null) {
+            out.name("categoryId").value(categoryId.longValue());
+        }
+        out.endObject();
+    }
+
+    private static void writeString(JsonWriter out, String name, String value) throws IOException {
+        if (value != null) {
+            out.name(name).value(value);
+        }
+    }
+
+    @Override
+    public Product read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        Product product = new Product(null, null, null, null, null, null, null, null);
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            try {
+                switch (name) {
+                    case "id" -> product.setId(in.nextLong());
+                    case "name" -> product.setName(in.nextString());
+                    case "description" -> product.setDescription(in.nextString());
+                    case "brand" -> product.setBrand(in.nextString());
+                    case "price" -> product.setPrice(in.nextDouble());
+                    case "available" -> product.setAvailable(in.peek() == JsonToken.STRING
+                            ? Boolean.parseBoolean(in.nextString())
+                            : in.nextBoolean());
+                    case "thumbnail" -> product.setThumbnail(in.nextString());
+                    case "categoryId" -> product.setCategoryId(in.nextLong());
+                    default -> in.skipValue();
+                }
+            } catch (NumberFormatException e) {
+                throw new JsonSyntaxException("Invalid number for product field " + name + ".", e);
+            }
+        }
+        in.endObject();
+        return product;
+    }
+}
@@ -0,0 +1,139 @@
+package me.davidgarmo.soundseeker.product.web.util;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import me.davidgarmo.soundseeker.product.metrics.RequestTrace;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class ServerTimingFilter implements Filter {
+    private static final Logger ACCESS_LOG = LogManager.getLogger("soundseeker.access");
+
+    private final double sampleRate;
+    private final boolean accessLog;
+
+    public ServerTimingFilter(double sampleRate, boolean accessLog) {
+        if (sampleRate < 0.0 || sampleRate > 1.0) {
+            throw new IllegalArgumentException("Tracing sample rate must be between 0 and 1.");
+        }
+        this.sampleRate = sampleRate;
+        this.accessLog = accessLog;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        if (!isSampled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        TimingResponse timingResponse = new TimingResponse((HttpServletResponse) response, RequestTrace.start());
+        try {
+            chain.doFilter(request, timingResponse);
+        } finally {
+            RequestTrace.clear();
+            timingResponse.addServerTiming();
+            if (accessLog) {
+                ACCESS_LOG.info("method={} uri={} status={} {}", httpRequest.getMethod(), httpRequest.getRequestURI(),
+                        timingResponse.getStatus(), timingResponse.trace.toLogFields());
+            }
+        }
+    }
+
+    private boolean isSampled() {
+        return sampleRate >= 1.0 || (sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private static final class TimingResponse extends HttpServletResponseWrapper {
+        private final RequestTrace trace;
+        private boolean headerAdded;
+        private PrintWriter writer;
+        private ServletOutputStream outputStream;
+
+        private TimingResponse(HttpServletResponse response, RequestTrace trace) {
+            super(response);
+            this.trace = trace;
+        }
+
+        private void addServerTiming() {
+            if (!headerAdded && !isCommitted()) {
+                setHeader("Server-Timing", trace.toServerTiming());
+            }
+            headerAdded = true;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(super.getWriter()) {
+                    @Override
+                    public void flush() {
+                        addServerTiming();
+                        super.flush();
+                    }
+
+                    @Override
+                    public void close() {
+                        addServerTiming();
+                        super.close();
+                    }
+                };
+            }
+            return writer;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                ServletOutputStream delegate = super.getOutputStream();
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        delegate.setWriteListener(writeListener);
+                    }
+
+                    @Override
+                    public void write(int b) throws IOException {
+                        delegate.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        delegate.write(b, off, len);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        addServerTiming();
+                        delegate.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        addServerTiming();
+                        delegate.close();
+                    }
+                };
+            }
+            return outputStream;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package me.davidgarmo.soundseeker.product.web.util;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+public class StaticCacheFilter implements Filter {
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final String REVALIDATE = "no-cache";
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+
+        String path = httpRequest.getRequestURI().substring(httpRequest.getContextPath().length());
+        if (!path.startsWith("/api/") && !path.startsWith("/uploads/")) {
+            httpResponse.setHeader("Cache-Control", httpRequest.getParameter("v") != null ? IMMUTABLE : REVALIDATE);
+        }
+
+        chain.doFilter(request, response);
+    }
+}
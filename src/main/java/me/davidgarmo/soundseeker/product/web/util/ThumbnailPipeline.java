@@ -0,0 +1,371 @@
+package me.davidgarmo.soundseeker.product.web.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+public class ThumbnailPipeline {
+    public static final int[] WIDTHS = {160, 320, 640};
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final long MAX_SOURCE_PIXELS = 40_000_000L;
+    private static final float JPEG_QUALITY = 0.8f;
+    private static final int DEFAULT_WORKERS = Integer.getInteger("soundseeker.thumbnails.workers",
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    private static final int DEFAULT_QUEUE_CAPACITY = Integer.getInteger("soundseeker.thumbnails.queueCapacity", 64);
+    private static final long DEFAULT_WAIT_MILLIS = Long.getLong("soundseeker.thumbnails.waitMillis", 2_000L);
+
+    private final ThreadPoolExecutor executor;
+    private final long waitMillis;
+    private final Map<Path, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+    private final Set<Path> servedByOriginal = ConcurrentHashMap.newKeySet();
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final AtomicInteger decoding = new AtomicInteger();
+    private final AtomicInteger peakDecoding = new AtomicInteger();
+    private final List<Consumer<Path>> invalidationListeners = new CopyOnWriteArrayList<>();
+
+    public ThumbnailPipeline() {
+        this(DEFAULT_WORKERS, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public ThumbnailPipeline(int workers, int queueCapacity) {
+        this(workers, queueCapacity, DEFAULT_WAIT_MILLIS);
+    }
+
+    public ThumbnailPipeline(int workers, int queueCapacity, long waitMillis) {
+        if (workers < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Thumbnail pipeline needs at least one worker and one queue slot.");
+        }
+        this.waitMillis = waitMillis;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "soundseeker-thumbnail-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public static boolean isSupported(String fileName) {
+        return switch (extensionOf(fileName)) {
+            case "jpg", "jpeg", "png", "gif" -> true;
+            default -> false;
+        };
+    }
+
+    public static int closestWidth(int requested) {
+        for (int width : WIDTHS) {
+            if (width >= requested) {
+                return width;
+            }
+        }
+        return WIDTHS[WIDTHS.length - 1];
+    }
+
+    public static String derivativeName(String fileName, int width) {
+        int dot = fileName.lastIndexOf('.');
+        String extension = extensionOf(fileName);
+        String targetExtension = extension.equals("gif") ? "png" : extension;
+        return fileName.substring(0, dot) + "-w" + width + "." + targetExtension;
+    }
+
+    public static String[] derivativeNames(String fileName) {
+        String[] names = new String[WIDTHS.length];
+        for (int i = 0; i < WIDTHS.length; i++) {
+            names[i] = derivativeName(fileName, WIDTHS[i]);
+        }
+        return names;
+    }
+
+    private static String extensionOf(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot < 0 ? "" : fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+    public void addInvalidationListener(Consumer<Path> listener) {
+        invalidationListeners.add(listener);
+    }
+
+    public boolean submit(Path original) {
+        if (!isSupported(original.getFileName().toString())) {
+            return false;
+        }
+        for (String name : derivativeNames(original.getFileName().toString())) {
+            Path derivative = original.resolveSibling(name);
+            servedByOriginal.remove(derivative);
+            try {
+                Files.deleteIfExists(derivative);
+            } catch (IOException e) {
+                LOGGER.warn("✘ Could not delete the stale derivative {}: {}", name, e.getMessage());
+            }
+            invalidationListeners.forEach(listener -> listener.accept(derivative));
+        }
+        try {
+            executor.execute(() -> {
+                for (int width : WIDTHS) {
+                    Path target = original.resolveSibling(derivativeName(original.getFileName().toString(), width));
+                    CompletableFuture<Path> future = new CompletableFuture<>();
+                    if (Files.isRegularFile(target) || inFlight.putIfAbsent(target, future) != null) {
+                        continue;
+                    }
+                    try {
+                        if (generateAndComplete(original, target, width, future).equals(original)) {
+                            return;
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        LOGGER.error("✘ Error generating the {}px derivative of {}: {}", width, original.getFileName(), e.getMessage());
+                        return;
+                    }
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            LOGGER.warn("✘ Thumbnail queue is full, derivatives of {} will be generated on demand.", original.getFileName());
+            return false;
+        }
+    }
+
+    /**
+     * Returns the derivative of {@code original} closest to {@code width}, generating it on the worker pool if it
+     * does not exist yet. While the pool is saturated or the generation takes longer than the configured wait, the
+     * original is returned as a fallback so the request thread never decodes an image itself.
+     */
+    public Resolved resolve(Path original, int width) throws IOException {
+        String fileName = original.getFileName().toString();
+        if (!isSupported(fileName)) {
+            return new Resolved(original, false);
+        }
+        int closest = closestWidth(width);
+        Path target = original.resolveSibling(derivativeName(fileName, closest));
+        if (servedByOriginal.contains(target)) {
+            return new Resolved(original, false);
+        }
+        if (Files.isRegularFile(target)) {
+            return new Resolved(target, false);
+        }
+
+        CompletableFuture<Path> future = new CompletableFuture<>();
+        CompletableFuture<Path> running = inFlight.putIfAbsent(target, future);
+        if (running == null) {
+            try {
+                executor.execute(() -> {
+                    try {
+                        generateAndComplete(original, target, closest, future);
+                    } catch (IOException | RuntimeException e) {
+                        LOGGER.error("✘ Error generating the {}px derivative of {}: {}", closest, fileName, e.getMessage());
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                inFlight.remove(target, future);
+                return fallback(original);
+            }
+            running = future;
+        }
+
+        try {
+            return new Resolved(running.get(waitMillis, TimeUnit.MILLISECONDS), false);
+        } catch (TimeoutException e) {
+            return fallback(original);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return fallback(original);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private Resolved fallback(Path original) {
+        fallbacks.increment();
+        LOGGER.debug("✘ Thumbnail workers are busy, serving {} as it is.", original.getFileName());
+        return new Resolved(original, true);
+    }
+
+    private Path generateAndComplete(Path original, Path target, int width, CompletableFuture<Path> future) throws IOException {
+        int running = decoding.incrementAndGet();
+        peakDecoding.accumulateAndGet(running, Math::max);
+        try {
+            Path result = generate(original, target, width);
+            if (result.equals(original)) {
+                servedByOriginal.add(target);
+            }
+            future.complete(result);
+            return result;
+        } catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            decoding.decrementAndGet();
+            inFlight.remove(target, future);
+        }
+    }
+
+    private Path generate(Path original, Path target, int width) throws IOException {
+        BufferedImage source = read(original);
+        if (source == null || source.getWidth() <= width) {
+            return original;
+        }
+
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+        String format = extensionOf(target.getFileName().toString());
+        BufferedImage scaled = scale(source, width, height, format.equals("png"));
+
+        Path temporary = Files.createTempFile(target.getParent(), ".thumbnail-", ".tmp");
+        try {
+            write(scaled, format, temporary);
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        generated.increment();
+        LOGGER.debug("✔ Generated {} ({}x{}) from {}.", target.getFileName(), width, height, original.getFileName());
+        return target;
+    }
+
+    private static BufferedImage read(Path original) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(original.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_SOURCE_PIXELS) {
+                    LOGGER.warn("✘ {} is too large to generate derivatives.", original.getFileName());
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage source, int width, int height, boolean alpha) {
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+            BufferedImage step = new BufferedImage(currentWidth, currentHeight, type);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                if (!alpha) {
+                    graphics.setColor(Color.WHITE);
+                    graphics.fillRect(0, 0, currentWidth, currentHeight);
+                }
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (currentWidth != width || currentHeight != height);
+
+        return current;
+    }
+
+    private static void write(BufferedImage image, String format, Path target) throws IOException {
+        String formatName = format.equals("jpg") ? "jpeg" : format;
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(formatName);
+        if (!writers.hasNext()) {
+            throw new IOException("No image writer available for " + formatName + ".");
+        }
+        ImageWriter writer = writers.next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (formatName.equals("jpeg")) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    public long getGeneratedCount() {
+        return generated.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getFallbackCount() {
+        return fallbacks.sum();
+    }
+
+    public int getPeakDecoding() {
+        return peakDecoding.get();
+    }
+
+    public int getWorkers() {
+        return executor.getMaximumPoolSize();
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * {@code saturated} is set when {@code path} is the original served in place of a derivative that could not be
+     * generated in time, so it must not be cached under the derivative's name.
+     */
+    public record Resolved(Path path, boolean saturated) {
+    }
+}
@@ -180,7 +180,8 @@ function renderProductsTable(products) {
             <td class="center">${product.id}</td>
             <td class="center">
                 <img
-                    src="${config.server.url + product.thumbnail}"
+                    src="${config.server.url + product.thumbnail}?w=160"
+                    srcset="${config.server.url + product.thumbnail}?w=320 2x"
                     alt="${product.name}"
                     width="100"
                     height="100" />
@@ -22,6 +22,93 @@ export async function getAllProducts() {
     }
 }
 
+/**
+ * Obtiene los productos que cumplen los filtros indicados, filtrados y ordenados en el servidor
+ * @param {Object} filters - Filtros opcionales: category, brand, minPrice, maxPrice, available, sort, limit y fields
+ *                           (campos a devolver separados por comas, p. ej. 'id,name,price,thumbnail')
+ * @returns {Promise<Array>} - Promesa que resuelve a un array de productos
+ */
+export async function findProducts(filters = {}) {
+    try {
+        const params = new URLSearchParams();
+        Object.entries(filters)
+            .filter(([, value]) => value !== undefined && value !== null && value !== '')
+            .forEach(([key, value]) => params.append(key, value));
+
+        const response = await fetch(`${server.apiUrl}/products?${params}`);
+        if (!response.ok) {
+            throw new Error(`Error fetching products: ${response.statusText}`);
+        }
+        return await response.json();
+    } catch (error) {
+        console.error('Error fetching filtered products:', error);
+        throw error;
+    }
+}
+
+/**
+ * Obtiene el conteo de productos por categoría, marca y disponibilidad
+ * @param {Object} [filters] - Filtros opcionales: category, brand, minPrice, maxPrice, available
+ * @returns {Promise<Object>} - Promesa que resuelve a { total, categories, brands, available }
+ */
+export async function getProductFacets(filters = {}) {
+    try {
+        const params = new URLSearchParams();
+        Object.entries(filters)
+            .filter(([, value]) => value !== undefined && value !== null && value !== '')
+            .forEach(([key, value]) => params.append(key, value));
+
+        const response = await fetch(`${server.apiUrl}/products/facets?${params}`);
+        if (!response.ok) {
+            throw new Error(`Error fetching product facets: ${response.statusText}`);
+        }
+        return await response.json();
+    } catch (error) {
+        console.error('Error fetching product facets:', error);
+        throw error;
+    }
+}
+
+/**
+ * Busca productos por texto en nombre, marca y descripción, ordenados por relevancia
+ * @param {string} query - Texto a buscar
+ * @param {number} [limit=20] - Cantidad máxima de resultados
+ * @returns {Promise<Array>} - Promesa que resuelve a un array de productos
+ */
+export async function searchProducts(query, limit = 20) {
+    try {
+        const params = new URLSearchParams({ q: query, limit });
+        const response = await fetch(`${server.apiUrl}/products/search?${params}`);
+        if (!response.ok) {
+            throw new Error(`Error searching products: ${response.statusText}`);
+        }
+        return await response.json();
+    } catch (error) {
+        console.error(`Error searching products for "${query}":`, error);
+        throw error;
+    }
+}
+
+/**
+ * Obtiene sugerencias de nombres y marcas que comienzan con el prefijo escrito
+ * @param {string} prefix - Prefijo escrito por el usuario
+ * @param {number} [limit=10] - Cantidad máxima de sugerencias
+ * @returns {Promise<Array>} - Promesa que resuelve a un array de sugerencias ({ text, type, id })
+ */
+export async function suggestProducts(prefix, limit = 10) {
+    try {
+        const params = new URLSearchParams({ prefix, limit });
+        const response = await fetch(`${server.apiUrl}/products/suggest?${params}`);
+        if (!response.ok) {
+            throw new Error(`Error fetching suggestions: ${response.statusText}`);
+        }
+        return await response.json();
+    } catch (error) {
+        console.error(`Error fetching suggestions for "${prefix}":`, error);
+        throw error;
+    }
+}
+
 /**
  * Obtiene un producto por su ID
  * @param {number} id - ID del producto
@@ -142,3 +229,30 @@ export async function uploadFile(file) {
         throw error;
     }
 }
+
+/**
+ * Sube varios archivos en una sola petición
+ * @param {File[]} files - Archivos a subir (máximo 20)
+ * @returns {Promise<Array>} - Promesa que resuelve al resultado de cada archivo, en el mismo orden
+ */
+export async function uploadFiles(files) {
+    try {
+        const formData = new FormData();
+        files.forEach((file) => formData.append('files', file));
+
+        const response = await fetch(`${server.apiUrl}/upload/batch`, {
+            method: 'POST',
+            body: formData,
+        });
+
+        if (!response.ok) {
+            const error = await response.json().catch(() => ({}));
+            throw new Error(`Error uploading files: ${error.error || response.statusText}`);
+        }
+
+        return await response.json();
+    } catch (error) {
+        console.error('Error uploading files:', error);
+        throw error;
+    }
+}
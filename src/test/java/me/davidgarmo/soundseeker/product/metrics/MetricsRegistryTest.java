@@ -0,0 +1,106 @@
+package me.davidgarmo.soundseeker.product.metrics;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+
+import java.io.StringWriter;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class MetricsRegistryTest {
+    static final Logger LOGGER = LogManager.getLogger();
+
+    @Test
+    @Order(1)
+    void givenConcurrentRecorders_whenSnapshotted_thenEveryValueShouldBeCountedWithAccuratePercentiles() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        int threads = 8;
+        int valuesPerThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 1; i <= valuesPerThread; i++) {
+                        histogram.record(TimeUnit.MICROSECONDS.toNanos(i));
+                        if (i % 2_500 == 0) {
+                            histogram.snapshot();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.count()).isEqualTo((long) threads * valuesPerThread);
+        assertThat((double) snapshot.p50Nanos()).isCloseTo(5_000_000.0, within(10_000.0));
+        assertThat((double) snapshot.p99Nanos()).isCloseTo(9_900_000.0, within(20_000.0));
+        assertThat((double) snapshot.p999Nanos()).isCloseTo(9_990_000.0, within(20_000.0));
+        assertThat(snapshot.sumNanos()).isEqualTo(threads * TimeUnit.MICROSECONDS.toNanos(valuesPerThread * (valuesPerThread + 1L) / 2));
+        LOGGER.info("\n✔ {} values recorded from {} threads kept their count and percentiles.", snapshot.count(), threads);
+    }
+
+    @Test
+    @Order(2)
+    void givenRegisteredMetrics_whenWritten_thenThePrometheusTextFormatShouldBeProduced() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("demo_requests_total", "Requests.", "route", "/api/v1/products", "method", "GET").add(3);
+        registry.gauge("demo_pool_connections", "Connections.", () -> 4, "state", "idle");
+        registry.timer("demo_duration_seconds", "Latency.", "operation", "find\"ById").record(TimeUnit.MILLISECONDS.toNanos(2));
+
+        StringWriter out = new StringWriter();
+        registry.writePrometheus(out);
+        String text = out.toString();
+
+        assertThat(text).contains(
+                "# TYPE demo_requests_total counter\n",
+                "demo_requests_total{route=\"/api/v1/products\",method=\"GET\"} 3\n",
+                "# TYPE demo_pool_connections gauge\n",
+                "demo_pool_connections{state=\"idle\"} 4.0\n",
+                "# TYPE demo_duration_seconds summary\n",
+                "demo_duration_seconds{operation=\"find\\\"ById\",quantile=\"0.999\"} 0.002",
+                "demo_duration_seconds_count{operation=\"find\\\"ById\"} 1\n");
+        assertThatThrownBy(() -> registry.gauge("demo_requests_total", "Requests.", () -> 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        LOGGER.info("\n✔ Counters, gauges and summaries were written in the Prometheus text format.");
+    }
+
+    @Test
+    @Order(3)
+    void givenAnOldBurstOfSlowValues_whenTheWindowSlides_thenPercentilesShouldForgetItButTheCountShouldNot() {
+        long[] now = {0L};
+        LatencyHistogram histogram = new LatencyHistogram(Duration.ofSeconds(60), 6, () -> now[0]);
+        for (int i = 0; i < 1_000; i++) {
+            histogram.record(TimeUnit.SECONDS.toNanos(2));
+        }
+        assertThat(histogram.snapshot().p99Nanos()).isGreaterThanOrEqualTo(TimeUnit.SECONDS.toNanos(2));
+
+        now[0] = TimeUnit.SECONDS.toNanos(61);
+        for (int i = 0; i < 1_000; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.windowCount()).isEqualTo(1_000L);
+        assertThat(snapshot.maxNanos()).isLessThan(TimeUnit.MILLISECONDS.toNanos(2));
+        assertThat(snapshot.count()).isEqualTo(2_000L);
+        assertThat(snapshot.sumNanos()).isEqualTo(1_000 * (TimeUnit.SECONDS.toNanos(2) + TimeUnit.MILLISECONDS.toNanos(1)));
+        LOGGER.info("\n✔ The slow burst left the window while the cumulative count and sum kept it.");
+    }
+}
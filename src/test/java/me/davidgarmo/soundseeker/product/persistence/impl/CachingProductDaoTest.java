@@ -0,0 +1,143 @@
+package me.davidgarmo.soundseeker.product.persistence.impl;
+
+import me.davidgarmo.soundseeker.product.config.DBConnection;
+import me.davidgarmo.soundseeker.product.persistence.entity.Product;
+import me.davidgarmo.soundseeker.product.service.expection.ProductNotFoundException;
+import me.davidgarmo.soundseeker.product.service.expection.ProductPersistenceException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class CachingProductDaoTest {
+    static final Logger LOGGER = LogManager.getLogger();
+    CachingProductDao productCache;
+
+    @BeforeEach
+    void setUp() {
+        try (Connection connection = DBConnection.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("RUNSCRIPT FROM 'classpath:init.sql'");
+            }
+            productCache = new CachingProductDao(new ProductDaoH2(), 2, Duration.ofMinutes(5));
+            LOGGER.debug("✔ Database reset successfully.");
+        } catch (Exception e) {
+            LOGGER.error("✘ Error resetting database: {}", e.getMessage());
+        }
+    }
+
+    @Test
+    @Order(1)
+    void givenAProductWasRead_whenReadAgain_thenItShouldBeServedFromTheCache() {
+        Product first = productCache.findById(1L);
+        first.setName("Changed by the caller");
+        Product second = productCache.findById(1L);
+
+        assertThat(productCache.getMissCount()).isEqualTo(1);
+        assertThat(productCache.getHitCount()).isEqualTo(1);
+        assertThat(second.getName()).isEqualTo("Melódica Fire Hohner C9432174 Red-Black (9432/32)");
+        LOGGER.info("\n✔ The second read was a cache hit and callers cannot mutate the cached product.");
+    }
+
+    @Test
+    @Order(2)
+    void givenAMissingProduct_whenReadTwice_thenTheMissShouldBeCachedNegatively() {
+        assertThatThrownBy(() -> productCache.findById(99L)).isInstanceOf(ProductNotFoundException.class);
+        assertThatThrownBy(() -> productCache.findById(99L))
+                .isInstanceOf(ProductNotFoundException.class)
+                .hasMessage("✘ Product not found with ID: 99");
+
+        assertThat(productCache.getMissCount()).isEqualTo(1);
+        assertThat(productCache.getHitCount()).isEqualTo(1);
+        LOGGER.info("\n✔ The missing product was looked up in the database only once.");
+    }
+
+    @Test
+    @Order(3)
+    void givenACachedProduct_whenUpdatedOrDeleted_thenTheCachedEntryShouldBeInvalidated() {
+        Product product = productCache.findById(2L);
+        product.setPrice(1299.99);
+        productCache.update(product);
+
+        assertThat(productCache.findById(2L).getPrice()).isEqualTo(1299.99);
+
+        productCache.delete(2L);
+        assertThatThrownBy(() -> productCache.findById(2L)).isInstanceOf(ProductNotFoundException.class);
+        assertThat(productCache.getMissCount()).isEqualTo(3);
+        LOGGER.info("\n✔ Every write invalidated the cached product and the next read went to the database.");
+    }
+
+    @Test
+    @Order(4)
+    void givenTheCacheIsFull_whenAnotherProductIsRead_thenTheLeastRecentlyUsedShouldBeEvicted() {
+        productCache.findById(1L);
+        productCache.findById(2L);
+        productCache.findById(1L);
+        productCache.findById(3L);
+
+        assertThat(productCache.size()).isEqualTo(2);
+        assertThat(productCache.getEvictionCount()).isEqualTo(1);
+
+        productCache.findById(1L);
+        productCache.findById(2L);
+        assertThat(productCache.getHitCount()).isEqualTo(2);
+        assertThat(productCache.getMissCount()).isEqualTo(4);
+        LOGGER.info("\n✔ The least recently used product was evicted once the cache reached its maximum size.");
+    }
+
+    @Test
+    @Order(5)
+    void givenAnExpiredEntry_whenRead_thenItShouldBeLoadedAgain() throws InterruptedException {
+        CachingProductDao shortLivedCache = new CachingProductDao(new ProductDaoH2(), 10, Duration.ofMillis(50));
+        shortLivedCache.findById(1L);
+        Thread.sleep(100);
+        shortLivedCache.findById(1L);
+
+        assertThat(shortLivedCache.getHitCount()).isZero();
+        assertThat(shortLivedCache.getMissCount()).isEqualTo(2);
+        LOGGER.info("\n✔ The expired entry was reloaded from the database.");
+    }
+
+    @Test
+    @Order(6)
+    void givenAMissingProduct_whenTheNegativeTtlExpires_thenItShouldBeLookedUpAgain() throws InterruptedException {
+        CachingProductDao cache = new CachingProductDao(new ProductDaoH2(), 10, Duration.ofMinutes(5), Duration.ofMillis(50));
+        assertThatThrownBy(() -> cache.findById(99L)).isInstanceOf(ProductNotFoundException.class);
+        Thread.sleep(100);
+        assertThatThrownBy(() -> cache.findById(99L)).isInstanceOf(ProductNotFoundException.class);
+
+        assertThat(cache.getHitCount()).isZero();
+        assertThat(cache.getMissCount()).isEqualTo(2);
+        LOGGER.info("\n✔ The negative entry expired after its own short TTL.");
+    }
+
+    @Test
+    @Order(7)
+    void givenAFailingLookup_whenReadAgain_thenTheFailureShouldNotBeCached() {
+        CachingProductDao cache = new CachingProductDao(new ProductDaoH2() {
+            private boolean failed;
+
+            @Override
+            public Product findById(Long id) {
+                if (!failed) {
+                    failed = true;
+                    throw new ProductPersistenceException("✘ Error finding product by ID: " + id, new SQLException("Timeout"));
+                }
+                return super.findById(id);
+            }
+        }, 10, Duration.ofMinutes(5));
+
+        assertThatThrownBy(() -> cache.findById(1L)).isInstanceOf(ProductPersistenceException.class);
+        assertThat(cache.findById(1L).getId()).isEqualTo(1L);
+        assertThat(cache.getMissCount()).isEqualTo(2);
+        LOGGER.info("\n✔ A failed query was not cached as a missing product.");
+    }
+}
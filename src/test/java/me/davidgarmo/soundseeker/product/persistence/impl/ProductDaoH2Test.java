@@ -0,0 +1,186 @@
+package me.davidgarmo.soundseeker.product.persistence.impl;
+
+import me.davidgarmo.soundseeker.product.config.DBConnection;
+import me.davidgarmo.soundseeker.product.persistence.dao.Page;
+import me.davidgarmo.soundseeker.product.persistence.dao.ProductField;
+import me.davidgarmo.soundseeker.product.persistence.dao.ProductFilter;
+import me.davidgarmo.soundseeker.product.persistence.dao.WriteOutcome;
+import me.davidgarmo.soundseeker.product.persistence.entity.Product;
+import me.davidgarmo.soundseeker.product.service.expection.ProductNotFoundException;
+import me.davidgarmo.soundseeker.product.service.expection.ProductVersionConflictException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ProductDaoH2Test {
+    static final Logger LOGGER = LogManager.getLogger();
+    ProductDaoH2 productDao;
+
+    private static String explain(ProductFilter filter) throws SQLException {
+        List<Object> parameters = new ArrayList<>();
+        String sql = ProductDaoH2.buildFilterQuery(filter, parameters);
+
+        try (Connection connection = DBConnection.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement("EXPLAIN " + sql)) {
+            ProductDaoH2.bindParameters(preparedStatement, parameters);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        try (Connection connection = DBConnection.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("RUNSCRIPT FROM 'classpath:init.sql'");
+            }
+            productDao = new ProductDaoH2();
+            LOGGER.debug("✔ Database reset successfully.");
+        } catch (Exception e) {
+            LOGGER.error("✘ Error resetting database: {}", e.getMessage());
+        }
+    }
+
+    @Test
+    @Order(1)
+    void givenACategoryFilter_whenFoundByFilter_thenOnlyThatCategoryShouldBeReturnedSortedByPrice() {
+        List<Product> products = productDao.findByFilter(
+                new ProductFilter(4L, null, null, null, null, ProductFilter.Sort.PRICE_ASC, 100));
+
+        assertThat(products).isNotEmpty().allMatch(product -> product.getCategoryId() == 4L);
+        assertThat(products).extracting(Product::getPrice).isSorted();
+        LOGGER.info("\n✔ The {} products of category 4 were returned sorted by price.", products.size());
+    }
+
+    @Test
+    @Order(2)
+    void givenACombinedFilter_whenFoundByFilter_thenEveryConditionShouldApply() {
+        List<Product> products = productDao.findByFilter(
+                new ProductFilter(null, "Hohner", 10.0, 100.0, true, ProductFilter.Sort.NAME_DESC, 100));
+
+        assertThat(products).isNotEmpty().allMatch(product -> product.getBrand().equals("Hohner")
+                && product.getPrice() >= 10.0 && product.getPrice() <= 100.0 && product.getAvailable());
+        assertThat(products).extracting(Product::getName).isSortedAccordingTo((a, b) -> b.compareTo(a));
+        LOGGER.info("\n✔ The brand, price range and availability conditions were all applied.");
+    }
+
+    @Test
+    @Order(3)
+    void givenALimit_whenFoundByFilter_thenNoMoreThanTheLimitShouldBeReturned() {
+        List<Product> products = productDao.findByFilter(
+                new ProductFilter(null, null, null, null, null, ProductFilter.Sort.PRICE_DESC, 3));
+
+        assertThat(products).hasSize(3);
+        assertThat(products).extracting(Product::getPrice).isSortedAccordingTo((a, b) -> Double.compare(b, a));
+        LOGGER.info("\n✔ The filter limit capped the result to the 3 most expensive products.");
+    }
+
+    @Test
+    @Order(4)
+    void givenFilterQueries_whenExplained_thenTheSecondaryIndexesShouldBeUsed() throws SQLException {
+        assertThat(explain(new ProductFilter(4L, null, null, null, null, ProductFilter.Sort.PRICE_ASC, 100)))
+                .contains("IDX_PRODUCT_CATEGORY_PRICE");
+        assertThat(explain(new ProductFilter(null, "Hohner", null, null, null, null, 100)))
+                .contains("IDX_PRODUCT_BRAND_PRICE");
+        assertThat(explain(new ProductFilter(null, null, 100.0, 500.0, null, ProductFilter.Sort.PRICE_DESC, 100)))
+                .contains("IDX_PRODUCT_PRICE");
+        assertThat(explain(new ProductFilter(null, null, null, null, true, null, 100)))
+                .contains("IDX_PRODUCT_AVAILABLE_PRICE");
+        assertThat(explain(new ProductFilter(3L, null, 100.0, 2000.0, true, null, 100)))
+                .contains("IDX_PRODUCT_CATEGORY_PRICE");
+        assertThat(explain(new ProductFilter(null, null, null, null, null, ProductFilter.Sort.PRICE_ASC, 100)))
+                .contains("IDX_PRODUCT_PRICE")
+                .contains("index sorted");
+        LOGGER.info("\n✔ Every filtered query plan uses one of the PRODUCT secondary indexes.");
+    }
+
+    @Test
+    @Order(5)
+    void givenAStaleVersion_whenUpdatedOrDeleted_thenTheConflictShouldBeDetectedAndNothingChanged() {
+        Product first = productDao.findById(3L);
+        Product second = productDao.findById(3L);
+        assertThat(first.getVersion()).isZero();
+
+        first.setPrice(279.99);
+        assertThat(productDao.update(first).getVersion()).isEqualTo(1L);
+
+        second.setPrice(259.99);
+        assertThatThrownBy(() -> productDao.update(second)).isInstanceOf(ProductVersionConflictException.class);
+        assertThatThrownBy(() -> productDao.delete(3L, 0L)).isInstanceOf(ProductVersionConflictException.class);
+        assertThat(productDao.findById(3L).getPrice()).isEqualTo(279.99);
+
+        productDao.delete(3L, 1L);
+        assertThatThrownBy(() -> productDao.delete(3L, 1L)).isInstanceOf(ProductNotFoundException.class);
+        LOGGER.info("\n✔ The stale update and delete were rejected and the current version was kept.");
+    }
+
+    @Test
+    @Order(6)
+    void givenAFieldSet_whenFound_thenOnlyTheRequestedColumnsShouldBeSelectedAndMapped() {
+        Set<ProductField> fields = ProductField.fromParameter("name, price");
+        List<Object> parameters = new ArrayList<>();
+        assertThat(ProductDaoH2.buildFilterQuery(new ProductFilter(4L, null, null, null, null, null, 10), fields, parameters))
+                .startsWith("SELECT ID, NAME, PRICE FROM PRODUCT WHERE");
+
+        Page<Product> page = productDao.findPage(null, 5, fields);
+        assertThat(page.items()).hasSize(5).allSatisfy(product -> {
+            assertThat(product.getId()).isNotNull();
+            assertThat(product.getName()).isNotNull();
+            assertThat(product.getPrice()).isNotNull();
+            assertThat(product.getDescription()).isNull();
+            assertThat(product.getCategoryId()).isNull();
+            assertThat(product.getVersion()).isNull();
+        });
+        assertThat(page.nextCursor()).isNotNull();
+
+        List<Product> streamed = new ArrayList<>();
+        productDao.streamAll(ProductField.fromParameter("thumbnail"), streamed::add);
+        assertThat(streamed).hasSameSizeAs(productDao.findAll())
+                .allMatch(product -> product.getThumbnail() != null && product.getName() == null);
+        assertThat(ProductField.fromParameter("id,name,description,brand,price,available,thumbnail,categoryId"))
+                .isSameAs(ProductField.ALL);
+        assertThatThrownBy(() -> ProductField.fromParameter("name,stock"))
+                .isInstanceOf(IllegalArgumentException.class);
+        LOGGER.info("\n✔ Only the requested columns were selected and mapped into the products.");
+    }
+
+    @Test
+    @Order(7)
+    void givenABatchWithExpectedVersions_whenUpdatedAll_thenNewVersionsShouldBeReturnedAndStaleItemsRejected() {
+        Product fresh = productDao.findById(4L);
+        Product stale = productDao.findById(5L);
+        Product unversioned = productDao.findById(6L);
+        Product missing = productDao.findById(7L);
+        stale.setVersion(3L);
+        unversioned.setVersion(null);
+        missing.setId(999L);
+        fresh.setPrice(149.99);
+        stale.setPrice(1.0);
+        unversioned.setPrice(89.99);
+
+        List<WriteOutcome<Product>> outcomes = productDao.updateAll(List.of(fresh, stale, unversioned, missing));
+
+        assertThat(outcomes.get(0).value().getVersion()).isEqualTo(1L);
+        assertThat(outcomes.get(1).failure()).isInstanceOf(ProductVersionConflictException.class);
+        assertThat(outcomes.get(2).value().getVersion()).isEqualTo(1L);
+        assertThat(outcomes.get(3).failure()).isInstanceOf(ProductNotFoundException.class);
+        assertThat(productDao.findById(5L).getPrice()).isNotEqualTo(1.0);
+        assertThat(productDao.findById(5L).getVersion()).isZero();
+        LOGGER.info("\n✔ The batch returned the new versions and rejected the stale and missing items.");
+    }
+}
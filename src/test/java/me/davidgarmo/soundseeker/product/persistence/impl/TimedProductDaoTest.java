@@ -0,0 +1,117 @@
+package me.davidgarmo.soundseeker.product.persistence.impl;
+
+import me.davidgarmo.soundseeker.product.config.DBConnection;
+import me.davidgarmo.soundseeker.product.metrics.MetricsRegistry;
+import me.davidgarmo.soundseeker.product.metrics.RequestTrace;
+import me.davidgarmo.soundseeker.product.persistence.dao.ProductField;
+import me.davidgarmo.soundseeker.product.persistence.entity.Product;
+import me.davidgarmo.soundseeker.product.service.expection.ProductNotFoundException;
+import me.davidgarmo.soundseeker.product.service.expection.ProductPersistenceException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+
+import java.io.StringWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class TimedProductDaoTest {
+    static final Logger LOGGER = LogManager.getLogger();
+    MetricsRegistry registry;
+
+    private String metrics() throws Exception {
+        StringWriter out = new StringWriter();
+        registry.writePrometheus(out);
+        return out.toString();
+    }
+
+    @BeforeEach
+    void setUp() {
+        try (Connection connection = DBConnection.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("RUNSCRIPT FROM 'classpath:init.sql'");
+            }
+            registry = new MetricsRegistry();
+            LOGGER.debug("✔ Database reset successfully.");
+        } catch (Exception e) {
+            LOGGER.error("✘ Error resetting database: {}", e.getMessage());
+        }
+    }
+
+    @Test
+    @Order(1)
+    void givenNotFoundAndFailedLookups_whenTimed_thenOnlyTheDatabaseFailureShouldCountAsAnError() throws Exception {
+        TimedProductDao productDao = new TimedProductDao(new ProductDaoH2() {
+            @Override
+            public Product findById(Long id) {
+                if (id == 13L) {
+                    throw new ProductPersistenceException("✘ Error finding product by ID: " + id, new SQLException("Timeout"));
+                }
+                return super.findById(id);
+            }
+        }, registry);
+
+        assertThatThrownBy(() -> productDao.findById(99L)).isInstanceOf(ProductNotFoundException.class);
+        assertThatThrownBy(() -> productDao.findById(13L)).isInstanceOf(ProductPersistenceException.class);
+
+        assertThat(metrics()).contains(
+                "soundseeker_dao_operation_errors_total{operation=\"findById\"} 1\n",
+                "soundseeker_dao_operation_duration_seconds_count{operation=\"findById\"} 2\n");
+        LOGGER.info("\n✔ The not-found lookup was timed but only the database failure was counted as an error.");
+    }
+
+    @Test
+    @Order(2)
+    void givenASlowConsumer_whenStreamed_thenItsTimeShouldNotBeCountedAsDatabaseTime() throws Exception {
+        TimedProductDao productDao = new TimedProductDao(new ProductDaoH2(), registry);
+        Consumer<Product> slowConsumer = product -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        long start = System.nanoTime();
+        productDao.streamAll(Set.of(ProductField.ID), slowConsumer);
+        long elapsed = System.nanoTime() - start;
+
+        String sum = metrics().lines()
+                .filter(line -> line.startsWith("soundseeker_dao_operation_duration_seconds_sum{operation=\"streamAll\"}"))
+                .findFirst().orElseThrow();
+        double seconds = Double.parseDouble(sum.substring(sum.lastIndexOf(' ') + 1));
+        assertThat(elapsed).isGreaterThan(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(seconds).isLessThan(elapsed / 2 / 1_000_000_000.0);
+        LOGGER.info("\n✔ The streamed catalog was timed at {} s of {} ms in total.", seconds, elapsed / 1_000_000);
+    }
+
+    @Test
+    @Order(3)
+    void givenATracedStream_whenRowsAreSerialized_thenTheDbPhaseShouldNotOverlapPoolOrSerialize() {
+        TimedProductDao productDao = new TimedProductDao(new ProductDaoH2(), registry);
+        RequestTrace trace = RequestTrace.start();
+        try {
+            productDao.streamAll(ProductField.ALL, product -> {
+                long start = System.nanoTime();
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+                trace.add(RequestTrace.Phase.SERIALIZE, System.nanoTime() - start);
+            });
+            long phases = trace.getPhaseNanos(RequestTrace.Phase.POOL) + trace.getPhaseNanos(RequestTrace.Phase.DB)
+                    + trace.getPhaseNanos(RequestTrace.Phase.SERIALIZE);
+
+            assertThat(trace.getPhaseCount(RequestTrace.Phase.DB)).isEqualTo(1);
+            assertThat(phases).isLessThanOrEqualTo(trace.getElapsedNanos());
+            LOGGER.info("\n✔ The traced phases added up to no more than the request: {}", trace.toServerTiming());
+        } finally {
+            RequestTrace.clear();
+        }
+    }
+}
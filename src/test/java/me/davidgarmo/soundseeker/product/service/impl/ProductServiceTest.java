@@ -3,9 +3,13 @@ package me.davidgarmo.soundseeker.product.service.impl;
 import de.vandermeer.asciitable.AsciiTable;
 import de.vandermeer.skb.interfaces.transformers.textformat.TextAlignment;
 import me.davidgarmo.soundseeker.product.config.DBConnection;
+import me.davidgarmo.soundseeker.product.persistence.dao.Page;
 import me.davidgarmo.soundseeker.product.persistence.entity.Product;
 import me.davidgarmo.soundseeker.product.persistence.impl.ProductDaoH2;
+import me.davidgarmo.soundseeker.product.service.BatchItemResult;
+import me.davidgarmo.soundseeker.product.service.ProductChangeListener;
 import me.davidgarmo.soundseeker.product.service.expection.ProductNotFoundException;
+import me.davidgarmo.soundseeker.product.service.expection.ProductPersistenceException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.*;
@@ -13,6 +17,7 @@ import org.junit.jupiter.api.*;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -200,4 +205,146 @@ class ProductServiceTest {
         assertThat(finalCount).isEqualTo(initialCount - 1);
         LOGGER.info("\n✔ The product was deleted successfully and the record count decreased by 1.");
     }
-}
\ No newline at end of file
+
+    @Test
+    @Order(8)
+    void givenTheDatabase_whenFindPageIsFollowed_thenItShouldWalkAllProductsInIdOrder() {
+        Page<Product> firstPage = productService.findPage(null, 4);
+        Page<Product> secondPage = productService.findPage(firstPage.nextCursor(), 4);
+        Page<Product> lastPage = productService.findPage(secondPage.nextCursor(), 4);
+
+        assertThat(firstPage.items()).extracting("id").containsExactly(1L, 2L, 3L, 4L);
+        assertThat(secondPage.items()).extracting("id").containsExactly(5L, 6L, 7L, 8L);
+        assertThat(lastPage.items()).extracting("id").containsExactly(9L, 10L);
+        assertThat(firstPage.nextCursor()).isNotNull();
+        assertThat(lastPage.nextCursor()).isNull();
+        LOGGER.info("\n✔ The keyset pages covered all 10 products in ID order and the last page has no cursor.");
+    }
+
+    @Test
+    @Order(9)
+    void givenAnInvalidCursorOrPageSize_whenFindPage_thenItShouldThrowIllegalArgumentException() {
+        assertThatThrownBy(() -> productService.findPage("not-a-cursor", 4))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid page cursor.");
+        assertThatThrownBy(() -> productService.findPage(null, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Page size must be between 1 and 100.");
+        LOGGER.info("\n✔ The expected exceptions were thrown for an invalid cursor and an invalid page size.");
+    }
+
+    @Test
+    @Order(10)
+    void givenAMixedBatch_whenSavedAll_thenValidProductsShouldPersistAndFailuresShouldBeReportedPerItem() {
+        Product first = new Product("Guiro Metálico LP LP304", "Guiro de metal para ritmos latinos.",
+                "LP", 29.99, true, "/uploads/guiro.webp", 4L);
+        Product invalid = new Product("Maracas LP LP281", "Par de maracas de fibra.",
+                "LP", 0.0, true, "/uploads/maracas.webp", 4L);
+        Product duplicate = new Product("Piano Digital Kurzweil M230 Rosewood Con Silla", "Nombre repetido.",
+                "Kurzweil", 1199.99, true, "/uploads/piano.webp", 3L);
+        Product second = new Product("Claves LP LP262", "Claves de madera dura.",
+                "LP", 14.99, true, "/uploads/claves.webp", 4L);
+
+        List<BatchItemResult> results = productService.saveAll(List.of(first, invalid, duplicate, second));
+
+        assertThat(results).extracting("status").containsExactly(BatchItemResult.Status.CREATED,
+                BatchItemResult.Status.INVALID, BatchItemResult.Status.FAILED, BatchItemResult.Status.CREATED);
+        assertThat(results.get(1).error()).isEqualTo("Product price must be greater than 0.");
+        assertThat(results.get(0).product().getId()).isNotNull();
+        assertThat(results.get(3).product().getId()).isNotNull();
+        assertThat(productService.findAll()).hasSize(12);
+        LOGGER.info("\n✔ The batch saved the 2 valid products and reported the invalid and duplicated ones per item.");
+    }
+
+    @Test
+    @Order(11)
+    void givenABatchOfUpdates_whenUpdatedAll_thenExistingProductsShouldChangeAndMissingOnesShouldBeNotFound() {
+        Product existing = productService.findById(2L);
+        existing.setPrice(1099.99);
+        existing.setAvailable(false);
+        Product missing = new Product(99L, "Producto Inexistente", "No existe en la base de datos.",
+                "Nadie", 10.0, true, "/uploads/none.webp", 1L);
+
+        List<BatchItemResult> results = productService.updateAll(List.of(existing, missing));
+
+        assertThat(results).extracting("status").containsExactly(BatchItemResult.Status.UPDATED,
+                BatchItemResult.Status.NOT_FOUND);
+        assertThat(productService.findById(2L))
+                .extracting("price", "available")
+                .containsExactly(1099.99, false);
+        LOGGER.info("\n✔ The batch updated the existing product and reported the missing one as not found.");
+    }
+
+    @Test
+    @Order(12)
+    void givenAFailingDelete_whenDeleted_thenListenersShouldNotBeNotified() {
+        ProductService failingService = new ProductService(new ProductDaoH2() {
+            @Override
+            public void delete(Long id, Long expectedVersion) {
+                throw new ProductPersistenceException("✘ Error deleting product with ID: " + id, new SQLException("Timeout"));
+            }
+        });
+        List<Long> deletedIds = new ArrayList<>();
+        failingService.addChangeListener(new ProductChangeListener() {
+            @Override
+            public void onSaved(Product product) {
+            }
+
+            @Override
+            public void onUpdated(Product product) {
+            }
+
+            @Override
+            public void onDeleted(Long id) {
+                deletedIds.add(id);
+            }
+        });
+
+        assertThatThrownBy(() -> failingService.delete(1L)).isInstanceOf(ProductPersistenceException.class);
+        assertThat(deletedIds).isEmpty();
+        assertThat(failingService.getCatalogVersion()).isZero();
+        assertThat(productService.findById(1L)).isNotNull();
+        LOGGER.info("\n✔ A failed delete left the listeners and the catalog version untouched.");
+    }
+
+    @Test
+    @Order(13)
+    void givenAFailingListener_whenUpdated_thenTheCommittedWriteShouldSucceedAndOtherListenersShouldBeNotified() {
+        List<Long> updatedIds = new ArrayList<>();
+        productService.addChangeListener(new ProductChangeListener() {
+            @Override
+            public void onSaved(Product product) {
+            }
+
+            @Override
+            public void onUpdated(Product product) {
+                throw new IllegalStateException("Index is broken");
+            }
+
+            @Override
+            public void onDeleted(Long id) {
+            }
+        });
+        productService.addChangeListener(new ProductChangeListener() {
+            @Override
+            public void onSaved(Product product) {
+            }
+
+            @Override
+            public void onUpdated(Product product) {
+                updatedIds.add(product.getId());
+            }
+
+            @Override
+            public void onDeleted(Long id) {
+            }
+        });
+
+        Product product = productService.findById(1L);
+        product.setPrice(1.0);
+        assertThat(productService.update(product).getPrice()).isEqualTo(1.0);
+        assertThat(updatedIds).containsExactly(1L);
+        assertThat(productService.findById(1L).getPrice()).isEqualTo(1.0);
+        LOGGER.info("\n✔ The failing listener was logged and the update still succeeded.");
+    }
+}
@@ -0,0 +1,81 @@
+package me.davidgarmo.soundseeker.product.service.search;
+
+import me.davidgarmo.soundseeker.product.config.DBConnection;
+import me.davidgarmo.soundseeker.product.persistence.dao.ProductFilter;
+import me.davidgarmo.soundseeker.product.persistence.entity.Product;
+import me.davidgarmo.soundseeker.product.persistence.impl.ProductDaoH2;
+import me.davidgarmo.soundseeker.product.service.impl.ProductService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ProductFacetsTest {
+    static final Logger LOGGER = LogManager.getLogger();
+    ProductService productService;
+    ProductFacets facets;
+
+    @BeforeEach
+    void setUp() {
+        try (Connection connection = DBConnection.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("RUNSCRIPT FROM 'classpath:init.sql'");
+            }
+            productService = new ProductService(new ProductDaoH2());
+            facets = new ProductFacets(productService);
+            productService.addChangeListener(facets);
+            LOGGER.debug("✔ Database reset successfully.");
+        } catch (Exception e) {
+            LOGGER.error("✘ Error resetting database: {}", e.getMessage());
+        }
+    }
+
+    @Test
+    @Order(1)
+    void givenTheCatalog_whenCountsRequested_thenTheyShouldMatchTheStoredProducts() {
+        ProductFacets.Facets counts = facets.counts();
+
+        assertThat(counts.total()).isEqualTo(10);
+        assertThat(counts.categories()).containsExactlyInAnyOrderEntriesOf(Map.of(3L, 2, 4L, 4, 7L, 4));
+        assertThat(counts.brands()).containsEntry("Tycoon", 3).containsEntry("LP", 1).hasSize(8);
+        assertThat(counts.available()).containsExactlyInAnyOrderEntriesOf(Map.of(true, 10));
+
+        ProductFacets.Facets filtered = facets.counts(
+                new ProductFilter(4L, null, null, 100.0, null, ProductFilter.Sort.ID_ASC, 500));
+        assertThat(filtered.total()).isEqualTo(3);
+        assertThat(filtered.brands()).containsExactlyInAnyOrderEntriesOf(Map.of("LP", 1, "Tycoon", 2));
+        LOGGER.info("\n✔ The facet counts matched the catalog, with and without a filter.");
+    }
+
+    @Test
+    @Order(2)
+    void givenWritesThroughTheService_whenCountsRequested_thenTheyShouldFollowThem() {
+        facets.counts();
+
+        Product product = productService.save(new Product("Acordeón Hohner Rey Vallenato ADG Rojo",
+                "Acordeón de 3 lengüetas diseñado para la música del vallenato.", "Hohner", 699.99, true,
+                "/uploads/acordeon.webp", 2L));
+        assertThat(facets.counts().categories()).containsEntry(2L, 1);
+        assertThat(facets.counts().brands()).containsEntry("Hohner", 2);
+
+        product.setCategoryId(7L);
+        product.setAvailable(false);
+        productService.update(product);
+        ProductFacets.Facets moved = facets.counts();
+        assertThat(moved.categories()).doesNotContainKey(2L).containsEntry(7L, 5);
+        assertThat(moved.available()).containsExactlyInAnyOrderEntriesOf(Map.of(false, 1, true, 10));
+
+        productService.delete(product.getId());
+        ProductFacets.Facets restored = facets.counts();
+        assertThat(restored.total()).isEqualTo(10);
+        assertThat(restored.categories()).containsEntry(7L, 4);
+        assertThat(restored.brands()).containsEntry("Hohner", 1);
+        LOGGER.info("\n✔ The counters followed the save, the category move and the delete.");
+    }
+}
@@ -0,0 +1,149 @@
+package me.davidgarmo.soundseeker.product.service.search;
+
+import me.davidgarmo.soundseeker.product.config.DBConnection;
+import me.davidgarmo.soundseeker.product.persistence.entity.Product;
+import me.davidgarmo.soundseeker.product.persistence.impl.ProductDaoH2;
+import me.davidgarmo.soundseeker.product.service.impl.ProductService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ProductSearchIndexTest {
+    static final Logger LOGGER = LogManager.getLogger();
+    ProductService productService;
+    ProductSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        try (Connection connection = DBConnection.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("RUNSCRIPT FROM 'classpath:init.sql'");
+            }
+            productService = new ProductService(new ProductDaoH2());
+            searchIndex = new ProductSearchIndex(productService);
+            productService.addChangeListener(searchIndex);
+            LOGGER.debug("✔ Database reset successfully.");
+        } catch (Exception e) {
+            LOGGER.error("✘ Error resetting database: {}", e.getMessage());
+        }
+    }
+
+    @Test
+    @Order(1)
+    void givenSpanishText_whenAnalyzed_thenAccentsCaseStopWordsAndPluralsShouldBeFolded() {
+        assertThat(TextAnalyzer.analyze("Los Acordeones del Güiro MERENGUERO, con Saxofón"))
+                .containsExactly("acordeon", "guiro", "merenguero", "saxofon");
+        assertThat(TextAnalyzer.analyze("las clases de pianos")).containsExactly("clase", "piano");
+        LOGGER.info("\n✔ The analyzer folded accents, case, Spanish stop words and plurals.");
+    }
+
+    @Test
+    @Order(2)
+    void givenTheCatalog_whenSearchedWithoutAccents_thenTheBestMatchShouldRankFirst() {
+        List<Product> results = searchIndex.search("guiro merenguero", 10);
+
+        assertThat(searchIndex.size()).isEqualTo(10);
+        assertThat(results).isNotEmpty();
+        assertThat(results.get(0).getName()).isEqualTo("Güiro Merenguero Pequeño Tycoon");
+        assertThat(searchIndex.search("saxofon", 10)).extracting("id").first().isEqualTo(9L);
+        LOGGER.info("\n✔ The unaccented queries ranked the matching products first.");
+    }
+
+    @Test
+    @Order(3)
+    void givenWritesThroughTheService_whenSearched_thenTheIndexShouldFollowThemIncrementally() {
+        assertThat(searchIndex.search("acordeon vallenato", 10)).isEmpty();
+
+        Product product = productService.save(new Product("Acordeón Hohner Rey Vallenato ADG Rojo",
+                "Acordeón de 3 lengüetas diseñado para la música del vallenato.", "Hohner", 699.99, true,
+                "/uploads/acordeon.webp", 2L));
+        assertThat(searchIndex.search("acordeon vallenato", 10)).extracting("id").containsExactly(product.getId());
+
+        product.setName("Bandoneón Hohner Rey ADG Rojo");
+        product.setDescription("Bandoneón de 3 lengüetas para principiantes.");
+        productService.update(product);
+        assertThat(searchIndex.search("vallenato", 10)).isEmpty();
+        assertThat(searchIndex.search("bandoneon", 10)).extracting("id").containsExactly(product.getId());
+
+        productService.delete(product.getId());
+        assertThat(searchIndex.search("bandoneon", 10)).isEmpty();
+        assertThat(searchIndex.size()).isEqualTo(10);
+        LOGGER.info("\n✔ The index followed the save, update and delete without being rebuilt.");
+    }
+
+    @Test
+    @Order(4)
+    void givenEventsDeliveredOutOfOrder_whenSearched_thenStaleVersionsAndDeletedProductsShouldBeIgnored() {
+        Product product = productService.save(new Product("Acordeón Hohner Rey Vallenato ADG Rojo",
+                "Acordeón de 3 lengüetas diseñado para la música del vallenato.", "Hohner", 699.99, true,
+                "/uploads/acordeon.webp", 2L));
+        Product stale = new Product(product.getId(), product.getName(), product.getDescription(), product.getBrand(),
+                product.getPrice(), product.getAvailable(), product.getThumbnail(), product.getCategoryId());
+        stale.setVersion(product.getVersion());
+        assertThat(searchIndex.search("vallenato", 10)).extracting("id").containsExactly(product.getId());
+
+        product.setName("Bandoneón Hohner Rey ADG Rojo");
+        product.setDescription("Bandoneón de 3 lengüetas para principiantes.");
+        productService.update(product);
+        searchIndex.onUpdated(stale);
+        assertThat(searchIndex.search("vallenato", 10)).isEmpty();
+        assertThat(searchIndex.search("bandoneon", 10)).extracting("id").containsExactly(product.getId());
+
+        productService.delete(product.getId());
+        searchIndex.onSaved(stale);
+        searchIndex.onUpdated(product);
+        assertThat(searchIndex.search("bandoneon", 10)).isEmpty();
+        assertThat(searchIndex.size()).isEqualTo(10);
+        LOGGER.info("\n✔ The late update and the events after the delete were dropped by version.");
+    }
+
+    @Test
+    @Order(5)
+    void givenAnIndexStillLoading_whenAProductIsUpdated_thenTheWriteShouldNotWaitAndTheIndexShouldIncludeIt() throws Exception {
+        CountDownLatch streaming = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        ProductService slowService = new ProductService(new ProductDaoH2()) {
+            @Override
+            public void streamAll(Consumer<? super Product> consumer) {
+                super.streamAll(product -> {
+                    if (streaming.getCount() > 0) {
+                        streaming.countDown();
+                        try {
+                            resume.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    consumer.accept(product);
+                });
+            }
+        };
+        ProductSearchIndex slowIndex = new ProductSearchIndex(slowService);
+        slowService.addChangeListener(slowIndex);
+
+        CompletableFuture<Void> loading = CompletableFuture.runAsync(slowIndex::load);
+        assertThat(streaming.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(slowIndex.isLoaded()).isFalse();
+
+        Product product = slowService.findById(9L);
+        product.setName("Bandoneón Hohner Rey ADG Rojo");
+        CompletableFuture.runAsync(() -> slowService.update(product)).get(5, TimeUnit.SECONDS);
+        resume.countDown();
+        loading.get(5, TimeUnit.SECONDS);
+
+        assertThat(slowIndex.isLoaded()).isTrue();
+        assertThat(slowIndex.search("bandoneon", 10)).extracting("id").containsExactly(9L);
+        LOGGER.info("\n✔ The update went through while the index loaded and was applied once the stream ended.");
+    }
+}
@@ -0,0 +1,76 @@
+package me.davidgarmo.soundseeker.product.service.search;
+
+import me.davidgarmo.soundseeker.product.config.DBConnection;
+import me.davidgarmo.soundseeker.product.persistence.entity.Product;
+import me.davidgarmo.soundseeker.product.persistence.impl.ProductDaoH2;
+import me.davidgarmo.soundseeker.product.service.impl.ProductService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ProductSuggesterTest {
+    static final Logger LOGGER = LogManager.getLogger();
+    ProductService productService;
+    ProductSuggester suggester;
+
+    @BeforeEach
+    void setUp() {
+        try (Connection connection = DBConnection.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("RUNSCRIPT FROM 'classpath:init.sql'");
+            }
+            productService = new ProductService(new ProductDaoH2());
+            suggester = new ProductSuggester(productService);
+            productService.addChangeListener(suggester);
+            LOGGER.debug("✔ Database reset successfully.");
+        } catch (Exception e) {
+            LOGGER.error("✘ Error resetting database: {}", e.getMessage());
+        }
+    }
+
+    @Test
+    @Order(1)
+    void givenTheCatalog_whenAPrefixIsTyped_thenNamesAndBrandsShouldBeSuggestedInOrder() {
+        assertThat(suggester.suggest("CON", 10))
+                .extracting("text", "type", "id")
+                .containsExactly(
+                        tuple("Conga Compacta 11.75 Tycoon Tac-120 BC HC", ProductSuggester.NAME, 3L),
+                        tuple("Conn-Selmer", ProductSuggester.BRAND, null));
+        assertThat(suggester.suggest("saxo", 10)).extracting("id").containsExactly(9L);
+        assertThat(suggester.suggest("ty", 10)).extracting("text").containsExactly("Tycoon");
+        assertThat(suggester.suggest("c", 2)).hasSize(2);
+        assertThat(suggester.suggest("zz", 10)).isEmpty();
+        LOGGER.info("\n✔ The suggester completed names and brands regardless of case and accents.");
+    }
+
+    @Test
+    @Order(2)
+    void givenWritesThroughTheService_whenAPrefixIsTyped_thenSuggestionsShouldFollowThem() {
+        assertThat(suggester.suggest("acordeon", 10)).isEmpty();
+
+        Product product = productService.save(new Product("Acordeón Hohner Rey Vallenato ADG Rojo",
+                "Acordeón de 3 lengüetas diseñado para la música del vallenato.", "Vallenatera", 699.99, true,
+                "/uploads/acordeon.webp", 2L));
+        assertThat(suggester.suggest("acordeon", 10)).extracting("id").containsExactly(product.getId());
+        assertThat(suggester.suggest("valle", 10)).extracting("text").containsExactly("Vallenatera");
+
+        product.setName("Bandoneón Hohner Rey ADG Rojo");
+        product.setBrand("Hohner");
+        productService.update(product);
+        assertThat(suggester.suggest("acordeon", 10)).isEmpty();
+        assertThat(suggester.suggest("valle", 10)).isEmpty();
+        assertThat(suggester.suggest("hohner", 10)).extracting("text").containsExactly("Hohner");
+
+        productService.delete(product.getId());
+        assertThat(suggester.suggest("bandoneon", 10)).isEmpty();
+        assertThat(suggester.suggest("hohner", 10)).extracting("text").containsExactly("Hohner");
+        LOGGER.info("\n✔ The suggestions followed the save, update and delete without a rebuild.");
+    }
+}
@@ -0,0 +1,242 @@
+package me.davidgarmo.soundseeker.product.web.servlet;
+
+import me.davidgarmo.soundseeker.product.web.util.ThumbnailPipeline;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class FileServingServletTest {
+    static final Logger LOGGER = LogManager.getLogger();
+    static final int LARGE_FILE_SIZE = 200 * 1024;
+    static Tomcat tomcat;
+    static Path docBase;
+    static byte[] smallFile;
+    static byte[] largeFile;
+    static String baseUrl;
+    static FileServingServlet servlet;
+    final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        Random random = new Random(42);
+        smallFile = new byte[1024];
+        largeFile = new byte[LARGE_FILE_SIZE];
+        random.nextBytes(smallFile);
+        random.nextBytes(largeFile);
+
+        docBase = Files.createTempDirectory("soundseeker-serving");
+        Files.createDirectories(docBase.resolve("uploads"));
+        Files.write(docBase.resolve("uploads/small.png"), smallFile);
+        Files.write(docBase.resolve("uploads/large.webp"), largeFile);
+
+        tomcat = new Tomcat();
+        tomcat.setPort(0);
+        tomcat.setBaseDir(new File(System.getProperty("java.io.tmpdir")).getAbsolutePath());
+        tomcat.getConnector();
+
+        Context context = tomcat.addContext("", docBase.toString());
+        servlet = new FileServingServlet();
+        Tomcat.addServlet(context, "fileServingServlet", servlet);
+        context.addServletMappingDecoded("/uploads/*", "fileServingServlet");
+        context.addMimeMapping("png", "image/png");
+        context.addMimeMapping("webp", "image/webp");
+        context.addMimeMapping("jpg", "image/jpeg");
+
+        tomcat.start();
+        baseUrl = "http://localhost:" + tomcat.getConnector().getLocalPort() + "/uploads/";
+        LOGGER.debug("🚀 Tomcat file serving test server started on {}.", baseUrl);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        try {
+            if (tomcat != null) {
+                tomcat.stop();
+                tomcat.destroy();
+            }
+        } catch (LifecycleException e) {
+            LOGGER.error("✘ Error stopping Tomcat test server: {}", e.getMessage());
+        }
+    }
+
+    private HttpResponse<byte[]> get(String file, String... headers) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + file));
+        if (headers.length > 0) {
+            request.headers(headers);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    @Test
+    @Order(1)
+    void givenAnUploadedFile_whenRequestedConditionally_thenItShouldBeRevalidatedWith304() throws Exception {
+        HttpResponse<byte[]> response = get("large.webp");
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).isEqualTo(largeFile);
+        assertThat(response.headers().firstValue("Content-Type")).hasValue("image/webp");
+        assertThat(response.headers().firstValue("Accept-Ranges")).hasValue("bytes");
+        String eTag = response.headers().firstValue("ETag").orElseThrow();
+        String lastModified = response.headers().firstValue("Last-Modified").orElseThrow();
+        assertThat(eTag).startsWith("\"");
+
+        assertThat(get("large.webp", "If-None-Match", eTag).statusCode()).isEqualTo(304);
+        assertThat(get("large.webp", "If-Modified-Since", lastModified).statusCode()).isEqualTo(304);
+        assertThat(get("large.webp", "If-None-Match", "\"other\"", "If-Modified-Since", lastModified).statusCode())
+                .isEqualTo(200);
+        assertThat(get("missing.png").statusCode()).isEqualTo(404);
+        LOGGER.info("\n✔ The file was served with a strong ETag and revalidated with 304.");
+    }
+
+    @Test
+    @Order(2)
+    void givenASingleRange_whenRequested_thenOnlyThatSliceShouldBeReturnedWith206() throws Exception {
+        HttpResponse<byte[]> slice = get("small.png", "Range", "bytes=10-19");
+        assertThat(slice.statusCode()).isEqualTo(206);
+        assertThat(slice.headers().firstValue("Content-Range")).hasValue("bytes 10-19/1024");
+        assertThat(slice.body()).isEqualTo(Arrays.copyOfRange(smallFile, 10, 20));
+
+        HttpResponse<byte[]> suffix = get("small.png", "Range", "bytes=-5");
+        assertThat(suffix.headers().firstValue("Content-Range")).hasValue("bytes 1019-1023/1024");
+        assertThat(suffix.body()).isEqualTo(Arrays.copyOfRange(smallFile, 1019, 1024));
+
+        HttpResponse<byte[]> large = get("large.webp", "Range", "bytes=1000-");
+        assertThat(large.statusCode()).isEqualTo(206);
+        assertThat(large.body()).isEqualTo(Arrays.copyOfRange(largeFile, 1000, LARGE_FILE_SIZE));
+
+        HttpResponse<byte[]> staleRange = get("small.png", "Range", "bytes=10-19", "If-Range", "\"stale\"");
+        assertThat(staleRange.statusCode()).isEqualTo(200);
+        assertThat(staleRange.body()).hasSize(1024);
+
+        HttpResponse<byte[]> unsatisfiable = get("small.png", "Range", "bytes=5000-");
+        assertThat(unsatisfiable.statusCode()).isEqualTo(416);
+        assertThat(unsatisfiable.headers().firstValue("Content-Range")).hasValue("bytes */1024");
+        LOGGER.info("\n✔ Single, suffix and open ranges were served with 206, and unsatisfiable ones with 416.");
+    }
+
+    @Test
+    @Order(3)
+    void givenSeveralRanges_whenRequested_thenAMultipartByteRangesBodyShouldBeReturned() throws Exception {
+        HttpResponse<byte[]> response = get("small.png", "Range", "bytes=0-3,100-103");
+        assertThat(response.statusCode()).isEqualTo(206);
+        String contentType = response.headers().firstValue("Content-Type").orElseThrow();
+        assertThat(contentType).startsWith("multipart/byteranges; boundary=");
+        assertThat(response.headers().firstValueAsLong("Content-Length")).hasValue(response.body().length);
+
+        String body = new String(response.body(), StandardCharsets.ISO_8859_1);
+        String boundary = contentType.substring(contentType.indexOf('=') + 1);
+        assertThat(body).contains("Content-Range: bytes 0-3/1024", "Content-Range: bytes 100-103/1024");
+        assertThat(body).contains(new String(Arrays.copyOfRange(smallFile, 100, 104), StandardCharsets.ISO_8859_1));
+        assertThat(body).endsWith("--" + boundary + "--\r\n");
+        LOGGER.info("\n✔ Two ranges were served as a multipart/byteranges body.");
+    }
+
+    @Test
+    @Order(4)
+    void givenAHotFile_whenRequestedRepeatedly_thenItShouldBeServedFromTheCacheUntilInvalidated() throws Exception {
+        Files.write(docBase.resolve("uploads/hot.png"), smallFile);
+
+        assertThat(get("hot.png").headers().firstValue("X-Cache")).hasValue("MISS");
+        HttpResponse<byte[]> hit = get("hot.png");
+        assertThat(hit.headers().firstValue("X-Cache")).hasValue("HIT");
+        assertThat(hit.body()).isEqualTo(smallFile);
+        assertThat(get("hot.png", "Range", "bytes=0-3,100-103").statusCode()).isEqualTo(206);
+
+        byte[] replacement = Arrays.copyOf(smallFile, 512);
+        Files.write(docBase.resolve("uploads/hot.png"), replacement);
+        servlet.getFileCache().invalidate("hot.png");
+
+        HttpResponse<byte[]> reloaded = get("hot.png");
+        assertThat(reloaded.headers().firstValue("X-Cache")).hasValue("MISS");
+        assertThat(reloaded.body()).isEqualTo(replacement);
+        assertThat(servlet.getFileCache().getHitCount()).isPositive();
+        LOGGER.info("\n✔ The hot file was served from memory and reloaded after invalidation.");
+    }
+
+    @Test
+    @Order(5)
+    void givenAWidthParameter_whenAnImageIsRequested_thenTheClosestDerivativeShouldBeServed() throws Exception {
+        BufferedImage image = new BufferedImage(1200, 900, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(3);
+        for (int x = 0; x < image.getWidth(); x += 8) {
+            for (int y = 0; y < image.getHeight(); y += 8) {
+                image.setRGB(x, y, random.nextInt(0xFFFFFF));
+            }
+        }
+        File original = docBase.resolve("uploads/card.jpg").toFile();
+        ImageIO.write(image, "jpeg", original);
+
+        HttpResponse<byte[]> thumbnail = get("card.jpg?w=300");
+        assertThat(thumbnail.statusCode()).isEqualTo(200);
+        assertThat(thumbnail.headers().firstValue("Content-Type")).hasValue("image/jpeg");
+        assertThat(ImageIO.read(new ByteArrayInputStream(thumbnail.body())).getWidth()).isEqualTo(320);
+        assertThat(thumbnail.body().length * 10L).isLessThan(original.length());
+        assertThat(get("card.jpg?w=300").headers().firstValue("X-Cache")).hasValue("HIT");
+        servlet.getThumbnailPipeline().submit(original.toPath());
+        assertThat(get("card.jpg?w=300").headers().firstValue("X-Cache")).hasValue("MISS");
+
+        assertThat(get("card.jpg?w=abc").statusCode()).isEqualTo(400);
+        assertThat(get("large.webp?w=160").body()).isEqualTo(largeFile);
+        LOGGER.info("\n✔ The 320 px derivative was generated on demand and served instead of the original.");
+    }
+
+    @Test
+    @Order(6)
+    void givenAContentAddressedFile_whenRequested_thenItShouldBeCachedAsImmutable() throws Exception {
+        String hash = "ab".repeat(32);
+        Path sharded = Files.createDirectories(docBase.resolve("uploads/ab/ab"));
+        Files.write(sharded.resolve(hash + ".png"), smallFile);
+
+        HttpResponse<byte[]> response = get("ab/ab/" + hash + ".png");
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).isEqualTo(smallFile);
+        assertThat(response.headers().firstValue("Cache-Control")).hasValue("public, max-age=31536000, immutable");
+        assertThat(get("small.png").headers().firstValue("Cache-Control")).hasValue("public, max-age=86400");
+        LOGGER.info("\n✔ The content-addressed file was served with an immutable cache policy.");
+    }
+
+    @Test
+    @Order(7)
+    void givenConcurrentWidthRequests_whenDerivativesAreMissing_thenNoMoreDecodesThanWorkersShouldRun() throws Exception {
+        BufferedImage image = new BufferedImage(1600, 1200, BufferedImage.TYPE_INT_RGB);
+        List<CompletableFuture<HttpResponse<byte[]>>> responses = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            ImageIO.write(image, "jpeg", docBase.resolve("uploads/burst-" + i + ".jpg").toFile());
+        }
+        for (int i = 0; i < 12; i++) {
+            for (int width : new int[]{160, 640}) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "burst-" + i + ".jpg?w=" + width)).build();
+                responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()));
+            }
+        }
+
+        for (CompletableFuture<HttpResponse<byte[]>> response : responses) {
+            assertThat(response.join().statusCode()).isEqualTo(200);
+        }
+        ThumbnailPipeline pipeline = servlet.getThumbnailPipeline();
+        assertThat(pipeline.getPeakDecoding()).isBetween(1, pipeline.getWorkers());
+        LOGGER.info("\n✔ {} concurrent requests ran at most {} decodes at once.", responses.size(), pipeline.getPeakDecoding());
+    }
+}
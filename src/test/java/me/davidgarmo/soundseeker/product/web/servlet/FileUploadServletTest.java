@@ -0,0 +1,257 @@
+package me.davidgarmo.soundseeker.product.web.servlet;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.Wrapper;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class FileUploadServletTest {
+    static final Logger LOGGER = LogManager.getLogger();
+    static final byte[] PNG_SIGNATURE = {(byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A};
+    static final String BOUNDARY = "soundseekerUploadBoundary";
+    static Tomcat tomcat;
+    static Path uploadDir;
+    static String uploadUrl;
+    final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        Path docBase = Files.createTempDirectory("soundseeker-upload");
+        uploadDir = Files.createDirectories(docBase.resolve("uploads"));
+
+        tomcat = new Tomcat();
+        tomcat.setPort(0);
+        tomcat.setBaseDir(new File(System.getProperty("java.io.tmpdir")).getAbsolutePath());
+        tomcat.getConnector();
+
+        Context context = tomcat.addContext("", docBase.toString());
+        Wrapper wrapper = Tomcat.addServlet(context, "fileUploadServlet", new FileUploadServlet());
+        wrapper.setMultipartConfigElement(FileUploadServlet.multipartConfig(uploadDir.toFile()));
+        context.addServletMappingDecoded("/api/v1/upload/*", "fileUploadServlet");
+
+        tomcat.start();
+        uploadUrl = "http://localhost:" + tomcat.getConnector().getLocalPort() + "/api/v1/upload";
+        LOGGER.debug("🚀 Tomcat upload test server started on {}.", uploadUrl);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        try {
+            if (tomcat != null) {
+                tomcat.stop();
+                tomcat.destroy();
+            }
+        } catch (LifecycleException e) {
+            LOGGER.error("✘ Error stopping Tomcat test server: {}", e.getMessage());
+        }
+    }
+
+    static byte[] png(int size, long seed) {
+        byte[] content = new byte[size];
+        new Random(seed).nextBytes(content);
+        System.arraycopy(PNG_SIGNATURE, 0, content, 0, PNG_SIGNATURE.length);
+        return content;
+    }
+
+    private HttpResponse<String> upload(String fileName, String contentType, byte[] content) throws Exception {
+        return post(uploadUrl, Map.of(fileName, content), contentType);
+    }
+
+    private HttpResponse<String> post(String url, Map<String, byte[]> files, String contentType) throws Exception {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (Map.Entry<String, byte[]> file : files.entrySet()) {
+            body.write(("--" + BOUNDARY + "\r\n"
+                    + "Content-Disposition: form-data; name=\"file\"; filename=\"" + file.getKey() + "\"\r\n"
+                    + "Content-Type: " + contentType + "\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+            body.write(file.getValue());
+            body.write("\r\n".getBytes(StandardCharsets.UTF_8));
+        }
+        body.write(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    @Order(1)
+    void givenAnInvalidSignature_whenUploaded_thenItShouldBeRejectedWithoutLeavingFiles() throws Exception {
+        HttpResponse<String> response = upload("fake.png", "image/png", "GIF89a not really a png".getBytes());
+
+        assertThat(response.statusCode()).isEqualTo(400);
+        assertThat(response.body()).contains("File content does not match with the declared extension.");
+        try (Stream<Path> files = Files.list(uploadDir)) {
+            assertThat(files.filter(Files::isRegularFile)).isEmpty();
+        }
+        LOGGER.info("\n✔ The file with a forged signature was rejected and nothing was stored.");
+    }
+
+    @Test
+    @Order(2)
+    void givenConcurrentUploads_whenStored_thenEveryFileShouldBeKeptUnderAUniqueName() throws Exception {
+        int uploads = 64;
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        Map<String, byte[]> expected = new ConcurrentHashMap<>();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < uploads; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    byte[] content = png(index % 2 == 0 ? 64 * 1024 : 1536 * 1024, index);
+                    HttpResponse<String> response = upload("photo.png", "image/png", content);
+                    assertThat(response.statusCode()).isEqualTo(200);
+                    JsonObject json = JsonParser.parseString(response.body()).getAsJsonObject();
+                    expected.put(json.get("fileName").getAsString(), content);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(expected).hasSize(uploads);
+        for (Map.Entry<String, byte[]> entry : expected.entrySet()) {
+            assertThat(Files.readAllBytes(uploadDir.resolve(entry.getKey()))).isEqualTo(entry.getValue());
+        }
+        try (Stream<Path> files = Files.list(uploadDir)) {
+            assertThat(files.map(path -> path.getFileName().toString()).filter(name -> name.startsWith(".upload-")))
+                    .isEmpty();
+        }
+        try (Stream<Path> files = Files.list(uploadDir.resolve(".incoming"))) {
+            assertThat(files).isEmpty();
+        }
+        LOGGER.info("\n✔ {} concurrent uploads were stored without collisions or leftover temp files.", uploads);
+    }
+
+    @Test
+    @Order(3)
+    void givenTheSameImageUploadedTwice_whenStored_thenItShouldBeDeduplicatedUnderItsHash() throws Exception {
+        byte[] content = png(200 * 1024, 99);
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+
+        JsonObject first = JsonParser.parseString(upload("guitar.png", "image/png", content).body()).getAsJsonObject();
+        JsonObject second = JsonParser.parseString(upload("guitar-copy.png", "image/png", content).body()).getAsJsonObject();
+
+        String expectedPath = hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + ".png";
+        assertThat(first.get("fileName").getAsString()).isEqualTo(expectedPath);
+        assertThat(first.get("filePath").getAsString()).isEqualTo("/uploads/" + expectedPath);
+        assertThat(first.get("deduplicated").getAsBoolean()).isFalse();
+        assertThat(second.get("fileName").getAsString()).isEqualTo(expectedPath);
+        assertThat(second.get("deduplicated").getAsBoolean()).isTrue();
+        try (Stream<Path> files = Files.list(uploadDir.resolve(expectedPath).getParent())) {
+            assertThat(files.filter(path -> path.getFileName().toString().startsWith(hash))).hasSize(1);
+        }
+        LOGGER.info("\n✔ The repeated upload reused the existing content-addressed file.");
+    }
+
+    @Test
+    @Order(4)
+    void givenAGallery_whenUploadedAsABatch_thenEveryFileShouldHaveItsOwnResult() throws Exception {
+        Map<String, byte[]> files = new LinkedHashMap<>();
+        for (int i = 0; i < 9; i++) {
+            files.put("gallery-" + i + ".png", png(i % 3 == 0 ? 1536 * 1024 : 128 * 1024, 1000 + i));
+        }
+        files.put("broken.png", "not an image".getBytes());
+
+        HttpResponse<String> response = post(uploadUrl + "/batch", files, "image/png");
+        assertThat(response.statusCode()).isEqualTo(200);
+
+        JsonArray items = JsonParser.parseString(response.body()).getAsJsonArray();
+        assertThat(items).hasSize(10);
+        List<byte[]> contents = new ArrayList<>(files.values());
+        for (int i = 0; i < 9; i++) {
+            JsonObject item = items.get(i).getAsJsonObject();
+            assertThat(item.get("index").getAsInt()).isEqualTo(i);
+            assertThat(item.get("status").getAsInt()).isEqualTo(201);
+            assertThat(item.get("originalFileName").getAsString()).isEqualTo("gallery-" + i + ".png");
+            assertThat(item.get("size").getAsLong()).isEqualTo(contents.get(i).length);
+            assertThat(item.get("filePath").getAsString()).isEqualTo("/uploads/" + item.get("fileName").getAsString());
+            assertThat(Files.readAllBytes(uploadDir.resolve(item.get("fileName").getAsString()))).isEqualTo(contents.get(i));
+        }
+        JsonObject broken = items.get(9).getAsJsonObject();
+        assertThat(broken.get("status").getAsInt()).isEqualTo(400);
+        assertThat(broken.get("error").getAsString()).isEqualTo("File content does not match with the declared extension.");
+        assertThat(broken.has("filePath")).isFalse();
+        LOGGER.info("\n✔ The gallery was stored in parallel and the broken file was reported on its own.");
+    }
+
+    @Test
+    @Order(5)
+    void givenTooManyFiles_whenUploadedAsABatch_thenTheWholeBatchShouldBeRejected() throws Exception {
+        Map<String, byte[]> files = new LinkedHashMap<>();
+        for (int i = 0; i < 21; i++) {
+            files.put("many-" + i + ".png", png(1024, 2000 + i));
+        }
+
+        HttpResponse<String> tooMany = post(uploadUrl + "/batch", files, "image/png");
+        assertThat(tooMany.statusCode()).isEqualTo(400);
+        assertThat(tooMany.body()).contains("Batch must contain between 1 and 20 files.");
+
+        HttpResponse<String> tooLarge = post(uploadUrl + "/batch", Map.of("huge.png", png(11 * 1024 * 1024, 3000)), "image/png");
+        assertThat(tooLarge.statusCode()).isEqualTo(400);
+        assertThat(JsonParser.parseString(tooLarge.body()).getAsJsonObject().get("success").getAsBoolean()).isFalse();
+        LOGGER.info("\n✔ Batches over the file count or the multipart size limits were rejected.");
+    }
+
+    @Test
+    @Order(6)
+    void givenTheSameLargeImageUploadedConcurrently_whenStored_thenOnlyOneUploadShouldCreateTheFile() throws Exception {
+        byte[] content = png(1536 * 1024, 4000);
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        int uploads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(uploads);
+        List<Future<JsonObject>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < uploads; i++) {
+                results.add(executor.submit(() ->
+                        JsonParser.parseString(upload("stage.png", "image/png", content).body()).getAsJsonObject()));
+            }
+            int created = 0;
+            for (Future<JsonObject> result : results) {
+                JsonObject item = result.get(30, TimeUnit.SECONDS);
+                assertThat(item.get("fileName").getAsString()).endsWith(hash + ".png");
+                if (!item.get("deduplicated").getAsBoolean()) {
+                    created++;
+                }
+            }
+            assertThat(created).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        String expectedPath = hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + ".png";
+        assertThat(Files.readAllBytes(uploadDir.resolve(expectedPath))).isEqualTo(content);
+        try (Stream<Path> files = Files.list(uploadDir)) {
+            assertThat(files.filter(path -> path.getFileName().toString().startsWith(".upload-"))).isEmpty();
+        }
+        LOGGER.info("\n✔ {} concurrent copies of a spooled upload created the file once.", uploads);
+    }
+}
@@ -0,0 +1,75 @@
+package me.davidgarmo.soundseeker.product.web.servlet;
+
+import me.davidgarmo.soundseeker.product.config.ServerBootstrap;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class MetricsServletTest {
+    static final Logger LOGGER = LogManager.getLogger();
+    static Tomcat tomcat;
+    static String baseUrl;
+    final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        tomcat = ServerBootstrap.createServer(0, ServerBootstrap.ThreadMode.PLATFORM);
+        tomcat.start();
+        baseUrl = "http://localhost:" + tomcat.getConnector().getLocalPort();
+        LOGGER.debug("🚀 Tomcat metrics test server started on {}.", baseUrl);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        try {
+            if (tomcat != null) {
+                tomcat.stop();
+                tomcat.destroy();
+            }
+        } catch (LifecycleException e) {
+            LOGGER.error("✘ Error stopping Tomcat test server: {}", e.getMessage());
+        }
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    @Order(1)
+    void givenServedRequests_whenMetricsScraped_thenRoutesDaoOperationsAndPoolShouldBeReported() throws Exception {
+        assertThat(get("/api/v1/products?limit=5").statusCode()).isEqualTo(200);
+        assertThat(get("/api/v1/products/1").statusCode()).isEqualTo(200);
+        assertThat(get("/api/v1/products/abc").statusCode()).isEqualTo(400);
+        assertThat(get("/uploads/missing.png").statusCode()).isEqualTo(404);
+
+        HttpResponse<String> response = get("/api/v1/metrics");
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type").orElseThrow()).startsWith("text/plain;version=0.0.4");
+
+        String text = response.body();
+        assertThat(text).contains(
+                "# TYPE soundseeker_http_request_duration_seconds summary",
+                "soundseeker_http_request_duration_seconds{route=\"/api/v1/products\",method=\"GET\",quantile=\"0.99\"}",
+                "soundseeker_http_request_errors_total{route=\"/api/v1/products\",method=\"GET\",status=\"4xx\"}",
+                "soundseeker_http_requests_total{route=\"/uploads\",method=\"GET\"}",
+                "soundseeker_dao_operation_duration_seconds_count{operation=\"findPage\"}",
+                "soundseeker_dao_operation_duration_seconds_count{operation=\"findById\"}",
+                "soundseeker_db_pool_connections{pool=\"soundseeker\",state=\"active\"}",
+                "soundseeker_db_pool_connections{pool=\"soundseeker\",state=\"pending\"}",
+                "soundseeker_db_connection_acquire_seconds{pool=\"soundseeker\",quantile=\"0.5\"}",
+                "soundseeker_cache_hits_total{cache=\"file\"}");
+        assertThat(text).doesNotContainPattern("route=\"/api/v1/products/\\d");
+        LOGGER.info("\n✔ The metrics endpoint reported routes, DAO timings and pool gauges.");
+    }
+}
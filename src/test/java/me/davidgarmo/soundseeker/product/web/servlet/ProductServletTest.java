@@ -236,4 +236,329 @@ class ProductServletTest {
                 .statusCode(204);
         LOGGER.info("\n✔ The product with ID 11 was deleted successfully, the status code is 204.");
     }
-}
\ No newline at end of file
+
+    @Test
+    @Order(8)
+    void givenProductsExist_whenGetRequestSentWithLimit_thenAPageWithNextCursorShouldBeReturned() {
+        String nextCursor = given().queryParam("limit", 6)
+                .when().get(BASE_URL)
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body(
+                        "items", hasSize(6),
+                        "items[0].id", equalTo(1),
+                        "items[5].id", equalTo(6),
+                        "nextCursor", notNullValue()
+                )
+                .extract().path("nextCursor");
+
+        given().queryParam("after", nextCursor).queryParam("limit", 6)
+                .when().get(BASE_URL)
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body(
+                        "items", hasSize(4),
+                        "items[0].id", equalTo(7),
+                        "items[3].id", equalTo(10),
+                        "nextCursor", nullValue()
+                );
+        LOGGER.info("\n✔ The product list was paged with a limit of 6, the second page has the remaining 4 products and no cursor.");
+    }
+
+    @Test
+    @Order(9)
+    void givenAnInvalidCursor_whenGetRequestSent_thenBadRequestStatusShouldBeReturned() {
+        given().queryParam("after", "not-a-cursor")
+                .when().get(BASE_URL)
+                .then()
+                .statusCode(400)
+                .contentType(ContentType.JSON)
+                .body("error", equalTo("Invalid page cursor."));
+        LOGGER.info("\n✔ The invalid cursor was rejected, the status code is 400, and the body contains the expected error.");
+    }
+
+    @Test
+    @Order(10)
+    void givenAMixedBatch_whenPostBatchRequestSent_thenPerItemResultsShouldBeReturned() {
+        String requestBody = """
+                [
+                    {
+                        "name": "Cajón Flamenco LP Aspire LPA1331",
+                        "description": "Cajón de madera con cuerdas internas para un sonido flamenco auténtico.",
+                        "brand": "LP",
+                        "price": 249.99,
+                        "available": true,
+                        "thumbnail": "/uploads/cajon.webp",
+                        "categoryId": 4
+                    },
+                    {
+                        "name": "",
+                        "description": "Producto sin nombre.",
+                        "brand": "LP",
+                        "price": 10.0,
+                        "available": true,
+                        "thumbnail": "/uploads/none.webp",
+                        "categoryId": 4
+                    },
+                    {
+                        "id": 6,
+                        "name": "Campana Para Timbal LP LP322 Cromado Antiguo",
+                        "description": "Campana cromada con acabado antiguo para timbal.",
+                        "brand": "LP",
+                        "price": 89.99,
+                        "available": true,
+                        "thumbnail": "/img/70h8timj.webp",
+                        "categoryId": 4
+                    },
+                    {
+                        "id": 7,
+                        "version": 999,
+                        "name": "Producto Con Versión Antigua",
+                        "description": "Actualización con una versión que ya no existe.",
+                        "brand": "LP",
+                        "price": 1.0,
+                        "available": true,
+                        "thumbnail": "/uploads/none.webp",
+                        "categoryId": 4
+                    },
+                    {
+                        "id": 9999,
+                        "name": "Producto Inexistente",
+                        "description": "No existe en la base de datos.",
+                        "brand": "LP",
+                        "price": 10.0,
+                        "available": true,
+                        "thumbnail": "/uploads/none.webp",
+                        "categoryId": 4
+                    }
+                ]
+                """;
+        given().request().and().body(requestBody).contentType("application/json; charset=UTF-8")
+                .when().post(BASE_URL + "/batch")
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body(
+                        "$", hasSize(5),
+                        "[0].status", equalTo(201),
+                        "[0].product.id", notNullValue(),
+                        "[0].product.name", equalTo("Cajón Flamenco LP Aspire LPA1331"),
+                        "[1].status", equalTo(400),
+                        "[1].error", equalTo("Product name cannot be empty or exceed 60 characters."),
+                        "[2].status", equalTo(200),
+                        "[2].product.price", equalTo(89.99f),
+                        "[2].version", notNullValue(),
+                        "[3].status", equalTo(412),
+                        "[4].status", equalTo(404)
+                );
+        LOGGER.info("\n✔ The batch created, rejected, updated, refused the stale item and reported the missing one, each with its own status.");
+    }
+
+    @Test
+    @Order(11)
+    void givenAnUnchangedCatalog_whenGetRequestSentWithIfNoneMatch_thenNotModifiedStatusShouldBeReturned() {
+        String eTag = get(BASE_URL)
+                .then()
+                .statusCode(200)
+                .header("ETag", notNullValue())
+                .header("Vary", equalTo("Accept-Encoding"))
+                .extract().header("ETag");
+
+        given().header("If-None-Match", eTag)
+                .when().get(BASE_URL)
+                .then()
+                .statusCode(304);
+
+        given().request().and().body("[{\"id\": 3, \"name\": \"Violín 4/4 Sólido Verona HXTQ09FRO Natural\", " +
+                        "\"description\": \"Violín de madera sólida para estudiantes.\", \"brand\": \"Verona\", " +
+                        "\"price\": 649.99, \"available\": true, \"thumbnail\": \"/img/violin.webp\", \"categoryId\": 8}]")
+                .contentType("application/json; charset=UTF-8")
+                .when().post(BASE_URL + "/batch")
+                .then()
+                .statusCode(200);
+
+        given().header("If-None-Match", eTag)
+                .when().get(BASE_URL)
+                .then()
+                .statusCode(200)
+                .header("ETag", not(equalTo(eTag)));
+        LOGGER.info("\n✔ The unchanged catalog answered 304 Not Modified and a write produced a new ETag.");
+    }
+
+    @Test
+    @Order(12)
+    void givenFilterParameters_whenGetRequestSent_thenOnlyMatchingProductsShouldBeReturned() {
+        given().queryParam("category", 4).queryParam("available", true).queryParam("sort", "-price")
+                .when().get(BASE_URL)
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body(
+                        "$", not(empty()),
+                        "categoryId", everyItem(equalTo(4)),
+                        "available", everyItem(equalTo(true))
+                );
+
+        given().queryParam("minPrice", 500).queryParam("maxPrice", 100)
+                .when().get(BASE_URL)
+                .then()
+                .statusCode(400)
+                .body("error", equalTo("Minimum price cannot be greater than maximum price."));
+        LOGGER.info("\n✔ The filtered list only contains available products of category 4 and an inverted price range was rejected.");
+    }
+
+    @Test
+    @Order(13)
+    void givenASearchQuery_whenGetRequestSent_thenRankedMatchingProductsShouldBeReturned() {
+        given().queryParam("q", "campana timbal")
+                .when().get(BASE_URL + "/search")
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body(
+                        "$", not(empty()),
+                        "[0].id", equalTo(6)
+                );
+
+        given().queryParam("q", " ")
+                .when().get(BASE_URL + "/search")
+                .then()
+                .statusCode(400)
+                .body("error", equalTo("Search query is required."));
+        LOGGER.info("\n✔ The search endpoint ranked product 6 first and rejected an empty query.");
+    }
+
+    @Test
+    @Order(14)
+    void givenAPrefix_whenSuggestRequestSent_thenMatchingNamesAndBrandsShouldBeReturned() {
+        given().queryParam("prefix", "tromp")
+                .when().get(BASE_URL + "/suggest")
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body(
+                        "$", hasSize(1),
+                        "[0].text", equalTo("Trompeta para Estudiante Bach TR500DIR"),
+                        "[0].type", equalTo("name"),
+                        "[0].id", equalTo(8)
+                );
+
+        given().queryParam("prefix", "")
+                .when().get(BASE_URL + "/suggest")
+                .then()
+                .statusCode(400)
+                .body("error", equalTo("Suggestion prefix is required."));
+        LOGGER.info("\n✔ The suggest endpoint completed the prefix and rejected an empty one.");
+    }
+
+    @Test
+    @Order(15)
+    void givenFilterParameters_whenFacetsRequested_thenCountsShouldMatchTheListing() {
+        List<Map<String, Object>> catalog = get(BASE_URL).as(new TypeRef<>() {
+        });
+        given().when().get(BASE_URL + "/facets")
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body("total", equalTo(catalog.size()));
+
+        List<Map<String, Object>> filtered = given().queryParam("category", 4).queryParam("maxPrice", 100)
+                .when().get(BASE_URL).as(new TypeRef<>() {
+                });
+        given().queryParam("category", 4)
+                .queryParam("maxPrice", 100)
+                .when().get(BASE_URL + "/facets")
+                .then()
+                .statusCode(200)
+                .body(
+                        "total", equalTo(filtered.size()),
+                        "categories.'4'", equalTo(filtered.size())
+                );
+        LOGGER.info("\n✔ The facets endpoint counted the same products as the listing, with and without a filter.");
+    }
+
+    @Test
+    @Order(16)
+    void givenAProductETag_whenConditionalRequestsSent_thenStaleWritesShouldBeRejected() {
+        String eTag = given().when().get(BASE_URL + "/{id}", 2)
+                .then()
+                .statusCode(200)
+                .header("ETag", notNullValue())
+                .extract().header("ETag");
+
+        given().header("If-None-Match", eTag)
+                .when().get(BASE_URL + "/{id}", 2)
+                .then()
+                .statusCode(304);
+
+        String requestBody = """
+                {
+                    "name": "Piano Digital Kurzweil M230 Rosewood",
+                    "description": "88 Teclas peso completo con acción graduada de martillo.",
+                    "brand": "Kurzweil",
+                    "price": 1149.99,
+                    "available": true,
+                    "thumbnail": "/img/qwvxyop8.webp",
+                    "categoryId": 3
+                }
+                """;
+        String newETag = given().header("If-Match", eTag).body(requestBody).contentType("application/json; charset=UTF-8")
+                .when().put(BASE_URL + "/{id}", 2)
+                .then()
+                .statusCode(200)
+                .body("price", equalTo(1149.99f))
+                .extract().header("ETag");
+        assertThat(newETag, not(equalTo(eTag)));
+
+        given().header("If-Match", eTag).body(requestBody).contentType("application/json; charset=UTF-8")
+                .when().put(BASE_URL + "/{id}", 2)
+                .then()
+                .statusCode(412)
+                .body("error", equalTo("Product was modified by another request."));
+
+        given().header("If-Match", eTag)
+                .when().delete(BASE_URL + "/{id}", 2)
+                .then()
+                .statusCode(412);
+
+        given().when().delete(BASE_URL + "/{id}", 999)
+                .then()
+                .statusCode(404)
+                .body("error", equalTo("Product not found."));
+        LOGGER.info("\n✔ The ETag produced a 304 and the stale If-Match was rejected with 412.");
+    }
+
+    @Test
+    @Order(17)
+    void givenAFieldList_whenListRequested_thenOnlyThoseFieldsShouldBeReturned() {
+        String full = get(BASE_URL + "?limit=5").asString();
+        String sparse = given().queryParam("fields", "name,brand,price,thumbnail").queryParam("limit", 5)
+                .when().get(BASE_URL)
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body(
+                        "items", hasSize(5),
+                        "items[0]", aMapWithSize(5),
+                        "items[0].keySet()", containsInAnyOrder("id", "name", "brand", "price", "thumbnail"),
+                        "nextCursor", notNullValue()
+                )
+                .extract().asString();
+        assertThat(sparse.length() * 2, lessThan(full.length()));
+
+        given().queryParam("fields", "id,name").queryParam("category", 4)
+                .when().get(BASE_URL)
+                .then()
+                .statusCode(200)
+                .body("[0].keySet()", containsInAnyOrder("id", "name"));
+
+        given().queryParam("fields", "name,password")
+                .when().get(BASE_URL)
+                .then()
+                .statusCode(400)
+                .body("error", startsWith("Invalid fields, allowed values: id, name, description"));
+        LOGGER.info("\n✔ The listing returned only the requested fields and rejected an unknown one.");
+    }
+}
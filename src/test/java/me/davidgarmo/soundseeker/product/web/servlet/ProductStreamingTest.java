@@ -0,0 +1,110 @@
+package me.davidgarmo.soundseeker.product.web.servlet;
+
+import com.google.gson.stream.JsonReader;
+import me.davidgarmo.soundseeker.product.config.DBConnection;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("streaming")
+class ProductStreamingTest {
+    static final Logger LOGGER = LogManager.getLogger();
+    static final int GENERATED_PRODUCTS = 100_000;
+    static final int SEEDED_PRODUCTS = 10;
+    static final long MAX_TEST_HEAP = 64L * 1024 * 1024;
+    static Tomcat tomcat;
+    static String baseUrl;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        try (Connection connection = DBConnection.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("RUNSCRIPT FROM 'classpath:init.sql'");
+            for (int start = 1; start <= GENERATED_PRODUCTS; start += 10_000) {
+                statement.execute("INSERT INTO PRODUCT (NAME, DESCRIPTION, BRAND, PRICE, AVAILABLE, THUMBNAIL, CATEGORY_ID) " +
+                        "SELECT 'Producto generado ' || X, X || ': ' || REPEAT('Descripción de prueba para el catálogo. ', 20), " +
+                        "'Marca ' || MOD(X, 50), 10 + MOD(X, 1000), MOD(X, 2) = 0, '/uploads/' || X || '.webp', MOD(X, 8) + 1 " +
+                        "FROM SYSTEM_RANGE(" + start + ", " + (start + 9_999) + ")");
+            }
+        }
+        LOGGER.debug("✔ Database seeded with {} generated products.", GENERATED_PRODUCTS);
+
+        System.setProperty("soundseeker.search.preload", "false");
+        tomcat = new Tomcat();
+        tomcat.setPort(0);
+        tomcat.setBaseDir(new File(System.getProperty("java.io.tmpdir")).getAbsolutePath());
+        tomcat.getConnector();
+
+        Context context = tomcat.addContext("", new File(".").getAbsolutePath());
+        Tomcat.addServlet(context, "productServlet", new ProductServlet());
+        context.addServletMappingDecoded("/api/v1/products/*", "productServlet");
+
+        tomcat.start();
+        baseUrl = "http://localhost:" + tomcat.getConnector().getLocalPort() + "/api/v1/products";
+        LOGGER.debug("🚀 Tomcat streaming test server started on {}.", baseUrl);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        System.clearProperty("soundseeker.search.preload");
+        try {
+            if (tomcat != null) {
+                tomcat.stop();
+                tomcat.destroy();
+            }
+        } catch (LifecycleException e) {
+            LOGGER.error("✘ Error stopping Tomcat test server: {}", e.getMessage());
+        }
+
+        try (Connection connection = DBConnection.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("RUNSCRIPT FROM 'classpath:init.sql'");
+        } catch (Exception e) {
+            LOGGER.error("✘ Error resetting database: {}", e.getMessage());
+        }
+    }
+
+    @Test
+    void givenAHundredThousandProducts_whenTheCatalogIsRequested_thenItShouldBeStreamedInsideASmallHeap() throws Exception {
+        assertThat(Runtime.getRuntime().maxMemory()).isLessThanOrEqualTo(MAX_TEST_HEAP);
+
+        HttpURLConnection connection = (HttpURLConnection) URI.create(baseUrl).toURL().openConnection();
+        long start = System.nanoTime();
+        int products = 0;
+        long firstByteNanos;
+
+        try (InputStream body = connection.getInputStream()) {
+            firstByteNanos = System.nanoTime() - start;
+            assertThat(connection.getResponseCode()).isEqualTo(200);
+
+            JsonReader reader = new JsonReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+            reader.beginArray();
+            while (reader.hasNext()) {
+                reader.skipValue();
+                products++;
+            }
+            reader.endArray();
+        } finally {
+            connection.disconnect();
+        }
+
+        long totalMillis = (System.nanoTime() - start) / 1_000_000;
+        assertThat(products).isEqualTo(GENERATED_PRODUCTS + SEEDED_PRODUCTS);
+        LOGGER.info("\n✔ {} products were streamed with a {} MB heap, first byte after {} ms, complete after {} ms.",
+                products, Runtime.getRuntime().maxMemory() / (1024 * 1024), firstByteNanos / 1_000_000, totalMillis);
+    }
+}
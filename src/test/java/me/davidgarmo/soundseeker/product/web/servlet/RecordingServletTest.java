@@ -0,0 +1,115 @@
+package me.davidgarmo.soundseeker.product.web.servlet;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import me.davidgarmo.soundseeker.product.config.ServerBootstrap;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class RecordingServletTest {
+    static final Logger LOGGER = LogManager.getLogger();
+    static final String BOUNDARY = "soundseekerRecordingBoundary";
+    static Tomcat tomcat;
+    static Path recordingDir;
+    static String baseUrl;
+    final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        recordingDir = Files.createTempDirectory("soundseeker-jfr");
+        System.setProperty(RecordingServlet.RECORDING_DIR_PROPERTY, recordingDir.toString());
+        try {
+            tomcat = ServerBootstrap.createServer(0, ServerBootstrap.ThreadMode.PLATFORM);
+        } finally {
+            System.clearProperty(RecordingServlet.RECORDING_DIR_PROPERTY);
+        }
+        tomcat.start();
+        baseUrl = "http://localhost:" + tomcat.getConnector().getLocalPort();
+        LOGGER.debug("🚀 Tomcat recording test server started on {}.", baseUrl);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        try {
+            if (tomcat != null) {
+                tomcat.stop();
+                tomcat.destroy();
+            }
+        } catch (LifecycleException e) {
+            LOGGER.error("✘ Error stopping Tomcat test server: {}", e.getMessage());
+        }
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path) throws Exception {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + path)).POST(HttpRequest.BodyPublishers.noBody()));
+    }
+
+    @Test
+    @Order(1)
+    void givenARecording_whenRequestsAreServed_thenDaoHttpAndUploadEventsShouldBeDumped() throws Exception {
+        assertThat(post("/api/v1/admin/recording/dump").statusCode()).isEqualTo(409);
+        HttpResponse<String> started = post("/api/v1/admin/recording/start?settings=default");
+        assertThat(started.statusCode()).isEqualTo(200);
+        assertThat(JsonParser.parseString(started.body()).getAsJsonObject().get("state").getAsString()).isEqualTo("RUNNING");
+        assertThat(post("/api/v1/admin/recording/start").statusCode()).isEqualTo(409);
+
+        assertThat(send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/products/2"))).statusCode()).isEqualTo(200);
+        String multipart = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"forged.png\"\r\n"
+                + "Content-Type: image/png\r\n\r\n"
+                + "GIF89a not really a png\r\n"
+                + "--" + BOUNDARY + "--\r\n";
+        HttpResponse<String> upload = send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/upload"))
+                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .POST(HttpRequest.BodyPublishers.ofString(multipart, StandardCharsets.UTF_8)));
+        assertThat(upload.statusCode()).isEqualTo(400);
+
+        HttpResponse<String> stopped = post("/api/v1/admin/recording/stop");
+        assertThat(stopped.statusCode()).isEqualTo(200);
+        JsonObject status = JsonParser.parseString(stopped.body()).getAsJsonObject();
+        assertThat(status.get("state").getAsString()).isEqualTo("STOPPED");
+        Path file = Path.of(status.get("file").getAsString());
+        assertThat(file.getParent()).isEqualTo(recordingDir);
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertThat(events).anySatisfy(event -> {
+            assertThat(event.getEventType().getName()).isEqualTo("soundseeker.ProductDao");
+            assertThat(event.getString("operation")).isEqualTo("findById");
+            assertThat(event.getLong("productId")).isEqualTo(2L);
+            assertThat(event.getInt("rows")).isEqualTo(1);
+        });
+        assertThat(events).anySatisfy(event -> {
+            assertThat(event.getEventType().getName()).isEqualTo("soundseeker.HttpRequest");
+            assertThat(event.getString("route")).isEqualTo("/api/v1/products");
+            assertThat(event.getInt("status")).isEqualTo(200);
+            assertThat(event.getLong("bytes")).isPositive();
+        });
+        assertThat(events).anySatisfy(event -> {
+            assertThat(event.getEventType().getName()).isEqualTo("soundseeker.FileUpload");
+            assertThat(event.getString("extension")).isEqualTo("png");
+            assertThat(event.getString("validationResult")).isEqualTo("File content does not match with the declared extension.");
+        });
+        LOGGER.info("\n✔ The recording captured {} events, including the DAO, HTTP and upload ones.", events.size());
+    }
+}
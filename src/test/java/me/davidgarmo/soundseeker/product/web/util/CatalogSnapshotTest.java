@@ -0,0 +1,32 @@
+package me.davidgarmo.soundseeker.product.web.util;
+
+import me.davidgarmo.soundseeker.product.service.expection.ProductPersistenceException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class CatalogSnapshotTest {
+    static final Logger LOGGER = LogManager.getLogger();
+
+    @Test
+    @Order(1)
+    void givenAFailingCatalogWriter_whenSnapshotRebuilt_thenNothingShouldBePublished() throws Exception {
+        CatalogSnapshot catalogSnapshot = new CatalogSnapshot(64 * 1024);
+
+        assertThatThrownBy(() -> catalogSnapshot.get(7L, writer -> {
+            writer.write("[{\"id\":1}");
+            throw new ProductPersistenceException("✘ Error streaming all products after 1 rows.", new SQLException("Timeout"));
+        })).isInstanceOf(ProductPersistenceException.class);
+
+        CatalogSnapshot.Snapshot snapshot = catalogSnapshot.get(7L, writer -> writer.write("[{\"id\":1},{\"id\":2}]"));
+        assertThat(new String(snapshot.json(), StandardCharsets.UTF_8)).isEqualTo("[{\"id\":1},{\"id\":2}]");
+        LOGGER.info("\n✔ A failed catalog stream was not cached and the next request rebuilt the full snapshot.");
+    }
+}
@@ -0,0 +1,118 @@
+package me.davidgarmo.soundseeker.product.web.util;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import me.davidgarmo.soundseeker.product.config.ServerBootstrap;
+import org.apache.catalina.Context;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tomcat.util.descriptor.web.FilterDef;
+import org.apache.tomcat.util.descriptor.web.FilterMap;
+import org.junit.jupiter.api.*;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ConcurrencyLimitFilterTest {
+    static final Logger LOGGER = LogManager.getLogger();
+    final HttpClient client = HttpClient.newHttpClient();
+
+    private static HttpRequest get(Tomcat tomcat, String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + tomcat.getConnector().getLocalPort() + path)).build();
+    }
+
+    @Test
+    @Order(1)
+    void givenEveryPermitBusy_whenAnotherRequestArrives_thenItShouldBeRejectedWith503() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        LongAdder rejected = new LongAdder();
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, Duration.ofMillis(200), rejected,
+                request -> request.getRequestURI().equals("/memory"));
+
+        Tomcat tomcat = new Tomcat();
+        tomcat.setPort(0);
+        tomcat.setBaseDir(new File(System.getProperty("java.io.tmpdir")).getAbsolutePath());
+        tomcat.getConnector();
+        Context context = tomcat.addContext("", new File(".").getAbsolutePath());
+        Tomcat.addServlet(context, "blockingServlet", new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                entered.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                resp.setStatus(HttpServletResponse.SC_OK);
+            }
+        });
+        context.addServletMappingDecoded("/slow", "blockingServlet");
+        Tomcat.addServlet(context, "memoryServlet", new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                resp.setStatus(HttpServletResponse.SC_OK);
+            }
+        });
+        context.addServletMappingDecoded("/memory", "memoryServlet");
+        context.addFilterDef(new FilterDef() {{
+            setFilterName("concurrencyLimitFilter");
+            setFilter(filter);
+        }});
+        context.addFilterMap(new FilterMap() {{
+            setFilterName("concurrencyLimitFilter");
+            addURLPattern("/*");
+        }});
+
+        tomcat.start();
+        try {
+            CompletableFuture<HttpResponse<String>> first = client.sendAsync(get(tomcat, "/slow"), HttpResponse.BodyHandlers.ofString());
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+            HttpResponse<String> second = client.send(get(tomcat, "/slow"), HttpResponse.BodyHandlers.ofString());
+            assertThat(second.statusCode()).isEqualTo(503);
+            assertThat(second.headers().firstValue("Retry-After")).hasValue("1");
+            assertThat(second.body()).contains("Server is busy");
+            assertThat(client.send(get(tomcat, "/memory"), HttpResponse.BodyHandlers.ofString()).statusCode()).isEqualTo(200);
+
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS).statusCode()).isEqualTo(200);
+            assertThat(filter.getRejectedCount()).isEqualTo(1);
+            assertThat(rejected.sum()).isEqualTo(1);
+            assertThat(filter.getAvailablePermits()).isEqualTo(1);
+        } finally {
+            tomcat.stop();
+            tomcat.destroy();
+        }
+        LOGGER.info("\n✔ The request beyond the permits was rejected with 503, the exempt one was served and the permit was returned.");
+    }
+
+    @Test
+    @Order(2)
+    void givenTheVirtualThreadMode_whenTheServerStarts_thenProductsShouldBeServed() throws Exception {
+        Tomcat tomcat = ServerBootstrap.createServer(0, ServerBootstrap.ThreadMode.VIRTUAL);
+        tomcat.start();
+        try {
+            HttpResponse<String> response = client.send(get(tomcat, "/api/v1/products?limit=1"), HttpResponse.BodyHandlers.ofString());
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.body()).contains("\"items\":[");
+        } finally {
+            tomcat.stop();
+            tomcat.destroy();
+        }
+        LOGGER.info("\n✔ The server bootstrapped on virtual threads served a page of products.");
+    }
+}
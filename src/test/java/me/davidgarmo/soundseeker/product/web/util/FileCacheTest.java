@@ -0,0 +1,87 @@
+package me.davidgarmo.soundseeker.product.web.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class FileCacheTest {
+    static final Logger LOGGER = LogManager.getLogger();
+    static Path directory;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        directory = Files.createTempDirectory("soundseeker-file-cache");
+        for (String name : new String[]{"a.webp", "b.webp", "c.webp", "d.webp"}) {
+            Files.write(directory.resolve(name), new byte[400]);
+        }
+        Files.write(directory.resolve("big.webp"), new byte[2000]);
+    }
+
+    private static FileCache.CachedFile load(FileCache cache, String name) throws Exception {
+        Path path = directory.resolve(name);
+        return cache.load(name, path, "image/webp", Files.size(path), 0L, "\"" + name + "\"");
+    }
+
+    @Test
+    @Order(1)
+    void givenACachedFile_whenRequestedAgain_thenItShouldBeServedFromADirectBuffer() throws Exception {
+        FileCache cache = new FileCache(1000, 500);
+
+        assertThat(cache.get("a.webp")).isNull();
+        load(cache, "a.webp");
+        FileCache.CachedFile cached = cache.get("a.webp");
+
+        assertThat(cached).isNotNull();
+        assertThat(cached.content().isDirect()).isTrue();
+        assertThat(cached.content().isReadOnly()).isTrue();
+        assertThat(cached.content().remaining()).isEqualTo(400);
+        assertThat(cache.getHitRate()).isEqualTo(0.5);
+        assertThat(load(cache, "big.webp")).isNull();
+        assertThat(cache.getUsedBytes()).isEqualTo(400);
+        assertThat(cache.getUncacheableCount()).isEqualTo(1);
+        assertThat(cache.getHitRate()).isEqualTo(0.5);
+        LOGGER.info("\n✔ The file was cached off-heap and the oversized one was left on disk without lowering the hit rate.");
+    }
+
+    @Test
+    @Order(2)
+    void givenAFullBudget_whenANewFileIsLoaded_thenTheLeastFrequentlyUsedFileShouldBeEvicted() throws Exception {
+        FileCache cache = new FileCache(1000, 500);
+        load(cache, "a.webp");
+        load(cache, "b.webp");
+        cache.get("a.webp");
+        cache.get("a.webp");
+
+        load(cache, "c.webp");
+
+        assertThat(cache.get("a.webp")).isNotNull();
+        assertThat(cache.get("b.webp")).isNull();
+        assertThat(cache.get("c.webp")).isNotNull();
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+        assertThat(cache.getUsedBytes()).isLessThanOrEqualTo(1000);
+        LOGGER.info("\n✔ The cold file was evicted while the frequently used one stayed cached.");
+    }
+
+    @Test
+    @Order(3)
+    void givenACachedFile_whenInvalidated_thenTheNextRequestShouldMiss() throws Exception {
+        FileCache cache = new FileCache(1000, 500);
+        load(cache, "d.webp");
+        cache.invalidate("d.webp");
+
+        assertThat(cache.get("d.webp")).isNull();
+        assertThat(cache.getUsedBytes()).isZero();
+        assertThat(cache.size()).isZero();
+
+        ByteBuffer content = load(cache, "d.webp").content();
+        assertThat(content.remaining()).isEqualTo(400);
+        LOGGER.info("\n✔ The invalidated file was dropped and reloaded on the next request.");
+    }
+}
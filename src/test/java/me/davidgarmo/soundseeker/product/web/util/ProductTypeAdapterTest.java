@@ -0,0 +1,58 @@
+package me.davidgarmo.soundseeker.product.web.util;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import me.davidgarmo.soundseeker.product.persistence.entity.Product;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ProductTypeAdapterTest {
+    static final Logger LOGGER = LogManager.getLogger();
+    final Gson reflectiveGson = new Gson();
+    final Gson codecGson = ProductJson.newGson();
+
+    @Test
+    @Order(1)
+    void givenProducts_whenSerialized_thenTheOutputShouldMatchTheReflectiveGsonOutput() {
+        Product complete = new Product(7L, "Guitarra \"Stratocaster\"", "Cuerpo de aliso <sólido> & mástil de arce",
+                "Fender", 1299.99, true, "/uploads/ab/cd/guitar.webp", 1L);
+        complete.setVersion(3L);
+        Product partial = new Product("Batería", null, "Pearl", 850.0, false, null, 6L);
+        List<Product> products = List.of(complete, partial);
+
+        assertThat(codecGson.toJson(complete)).isEqualTo(reflectiveGson.toJson(complete));
+        assertThat(codecGson.toJson(products)).isEqualTo(reflectiveGson.toJson(products));
+
+        Product read = codecGson.fromJson(reflectiveGson.toJson(complete), Product.class);
+        assertThat(read).usingRecursiveComparison().ignoringFields("version").isEqualTo(complete);
+        assertThat(read.getVersion()).isNull();
+        LOGGER.info("\n✔ The codec wrote the same JSON as reflection and read it back.");
+    }
+
+    @Test
+    @Order(2)
+    void givenMalformedInput_whenRead_thenItShouldFailLikeGsonAndErrorsShouldBeEscaped() throws Exception {
+        Product lenient = codecGson.fromJson("{\"price\": \"15.5\", \"available\": \"true\", \"extra\": [1, 2], \"name\": null}",
+                Product.class);
+        assertThat(lenient.getPrice()).isEqualTo(15.5);
+        assertThat(lenient.getAvailable()).isTrue();
+        assertThat(lenient.getName()).isNull();
+        assertThatThrownBy(() -> codecGson.fromJson("{\"price\": \"cheap\"}", Product.class))
+                .isInstanceOf(JsonSyntaxException.class);
+        assertThatThrownBy(() -> codecGson.fromJson("[]", Product.class))
+                .isInstanceOf(JsonSyntaxException.class);
+
+        StringWriter error = new StringWriter();
+        ProductJson.writeError(error, "Name \"Fender\" is not valid.");
+        assertThat(error.toString()).isEqualTo("{\"error\":\"Name \\\"Fender\\\" is not valid.\"}");
+        LOGGER.info("\n✔ Malformed products were rejected and the error envelope escaped its message.");
+    }
+}
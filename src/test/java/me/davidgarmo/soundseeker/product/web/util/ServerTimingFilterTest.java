@@ -0,0 +1,89 @@
+package me.davidgarmo.soundseeker.product.web.util;
+
+import me.davidgarmo.soundseeker.product.config.ServerBootstrap;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ServerTimingFilterTest {
+    static final Logger LOGGER = LogManager.getLogger();
+    static Tomcat tomcat;
+    static String baseUrl;
+    final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        System.setProperty(ServerBootstrap.TRACING_SAMPLE_RATE_PROPERTY, "1.0");
+        System.setProperty(ServerBootstrap.ACCESS_LOG_PROPERTY, "true");
+        try {
+            tomcat = ServerBootstrap.createServer(0, ServerBootstrap.ThreadMode.PLATFORM);
+        } finally {
+            System.clearProperty(ServerBootstrap.TRACING_SAMPLE_RATE_PROPERTY);
+            System.clearProperty(ServerBootstrap.ACCESS_LOG_PROPERTY);
+        }
+        tomcat.start();
+        baseUrl = "http://localhost:" + tomcat.getConnector().getLocalPort();
+        LOGGER.debug("🚀 Tomcat tracing test server started on {}.", baseUrl);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        try {
+            if (tomcat != null) {
+                tomcat.stop();
+                tomcat.destroy();
+            }
+        } catch (LifecycleException e) {
+            LOGGER.error("✘ Error stopping Tomcat test server: {}", e.getMessage());
+        }
+    }
+
+    private Map<String, Double> serverTiming(String path) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+        String header = response.headers().firstValue("Server-Timing").orElseThrow();
+        return Arrays.stream(header.split(",\\s*"))
+                .map(metric -> metric.split(";dur="))
+                .collect(Collectors.toMap(metric -> metric[0], metric -> Double.parseDouble(metric[1])));
+    }
+
+    @Test
+    @Order(1)
+    void givenSampledRequests_whenServed_thenServerTimingShouldBreakDownThePhases() throws Exception {
+        Map<String, Double> single = serverTiming("/api/v1/products/1");
+        assertThat(single).containsKeys("pool", "db", "serialize", "total");
+        assertThat(single.get("total")).isGreaterThanOrEqualTo(single.get("db"));
+        assertThat(single.get("total")).isGreaterThanOrEqualTo(single.get("pool") + single.get("db") + single.get("serialize"));
+
+        Map<String, Double> filtered = serverTiming("/api/v1/products?category=4&fields=id,name");
+        assertThat(filtered).containsKeys("validate", "db", "serialize", "total");
+
+        Map<String, Double> cached = serverTiming("/api/v1/products/1");
+        assertThat(cached).containsKeys("serialize", "total").doesNotContainKeys("db", "pool");
+        LOGGER.info("\n✔ Server-Timing reported pool, db, validate and serialize phases: {}", filtered);
+    }
+
+    @Test
+    @Order(2)
+    void givenAnInvalidSampleRate_whenFilterCreated_thenItShouldBeRejected() {
+        assertThatThrownBy(() -> new ServerTimingFilter(1.5, false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Tracing sample rate must be between 0 and 1.");
+        LOGGER.info("\n✔ A sample rate outside [0, 1] was rejected.");
+    }
+}
@@ -0,0 +1,113 @@
+package me.davidgarmo.soundseeker.product.web.util;
+
+import me.davidgarmo.soundseeker.product.config.ServerBootstrap;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class StaticCacheFilterTest {
+    static final Logger LOGGER = LogManager.getLogger();
+    static Tomcat tomcat;
+    static byte[] stylesheet;
+    static String baseUrl;
+    final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        Path staticDir = Files.createTempDirectory("soundseeker-static");
+        Files.createDirectories(staticDir.resolve("css"));
+        stylesheet = Files.readAllBytes(Path.of("src/main/webapp/css/pico.min.css"));
+        Files.write(staticDir.resolve("css/pico.min.css"), stylesheet);
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(staticDir.resolve("css/pico.min.css.gz")))) {
+            out.write(stylesheet);
+        }
+
+        System.setProperty(ServerBootstrap.STATIC_DIR_PROPERTY, staticDir.toString());
+        try {
+            tomcat = ServerBootstrap.createServer(0, ServerBootstrap.ThreadMode.PLATFORM);
+        } finally {
+            System.clearProperty(ServerBootstrap.STATIC_DIR_PROPERTY);
+        }
+        tomcat.start();
+        baseUrl = "http://localhost:" + tomcat.getConnector().getLocalPort();
+        LOGGER.debug("🚀 Tomcat static assets test server started on {}.", baseUrl);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        try {
+            if (tomcat != null) {
+                tomcat.stop();
+                tomcat.destroy();
+            }
+        } catch (LifecycleException e) {
+            LOGGER.error("✘ Error stopping Tomcat test server: {}", e.getMessage());
+        }
+    }
+
+    private HttpResponse<byte[]> get(String path, boolean gzip) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path));
+        if (gzip) {
+            request.header("Accept-Encoding", "gzip");
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static byte[] gunzip(byte[] body) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Test
+    @Order(1)
+    void givenAFingerprintedStylesheet_whenRequestedWithGzip_thenThePrecompressedFileShouldBeServedAsImmutable() throws Exception {
+        HttpResponse<byte[]> compressed = get("/css/pico.min.css?v=2b62fc891d", true);
+        assertThat(compressed.statusCode()).isEqualTo(200);
+        assertThat(compressed.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(compressed.headers().firstValue("Vary").orElseThrow()).containsIgnoringCase("accept-encoding");
+        assertThat(compressed.headers().firstValue("Cache-Control")).hasValue("public, max-age=31536000, immutable");
+        assertThat(compressed.body().length * 5).isLessThan(stylesheet.length);
+        assertThat(gunzip(compressed.body())).isEqualTo(stylesheet);
+
+        HttpResponse<byte[]> identity = get("/css/pico.min.css", false);
+        assertThat(identity.headers().firstValue("Content-Encoding")).isEmpty();
+        assertThat(identity.headers().firstValue("Cache-Control")).hasValue("no-cache");
+        assertThat(identity.body()).isEqualTo(stylesheet);
+        LOGGER.info("\n✔ The stylesheet was served from its .gz sibling with an immutable cache policy.");
+    }
+
+    @Test
+    @Order(2)
+    void givenAJsonResponse_whenTheClientAcceptsGzip_thenItShouldBeCompressedOnTheFly() throws Exception {
+        HttpResponse<byte[]> compressed = get("/api/v1/products?limit=20", true);
+        assertThat(compressed.statusCode()).isEqualTo(200);
+        assertThat(compressed.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(compressed.headers().firstValue("Cache-Control")).isEmpty();
+
+        HttpResponse<byte[]> identity = get("/api/v1/products?limit=20", false);
+        assertThat(identity.headers().firstValue("Content-Encoding")).isEmpty();
+        assertThat(gunzip(compressed.body())).isEqualTo(identity.body());
+
+        HttpResponse<byte[]> small = get("/css/limit.css", true);
+        assertThat(small.statusCode()).isEqualTo(200);
+        assertThat(small.headers().firstValue("Content-Encoding")).isEmpty();
+        LOGGER.info("\n✔ JSON was gzipped by the connector and bodies under the threshold were left alone.");
+    }
+}
@@ -0,0 +1,127 @@
+package me.davidgarmo.soundseeker.product.web.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ThumbnailPipelineTest {
+    static final Logger LOGGER = LogManager.getLogger();
+    static Path directory;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        directory = Files.createTempDirectory("soundseeker-thumbnails");
+    }
+
+    static Path writeImage(String name, int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setPaint(new GradientPaint(0, 0, Color.ORANGE, width, height, Color.BLUE));
+        graphics.fillRect(0, 0, width, height);
+        Random random = new Random(7);
+        for (int i = 0; i < 200; i++) {
+            graphics.setColor(new Color(random.nextInt(0xFFFFFF)));
+            graphics.fillOval(random.nextInt(width), random.nextInt(height), 40, 40);
+        }
+        graphics.dispose();
+
+        Path path = directory.resolve(name);
+        ImageIO.write(image, name.endsWith(".png") ? "png" : "jpeg", path.toFile());
+        return path;
+    }
+
+    @Test
+    @Order(1)
+    void givenAnUploadedImage_whenSubmitted_thenEveryDerivativeShouldBeWrittenNextToIt() throws Exception {
+        ThumbnailPipeline pipeline = new ThumbnailPipeline(1, 4);
+        Path original = writeImage("1700000000000.jpg", 1600, 1200);
+
+        assertThat(pipeline.submit(original)).isTrue();
+        Path smallest = directory.resolve("1700000000000-w160.jpg");
+        Path largest = directory.resolve("1700000000000-w640.jpg");
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!Files.exists(largest) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        BufferedImage thumbnail = ImageIO.read(smallest.toFile());
+        assertThat(thumbnail.getWidth()).isEqualTo(160);
+        assertThat(thumbnail.getHeight()).isEqualTo(120);
+        assertThat(ImageIO.read(largest.toFile()).getWidth()).isEqualTo(640);
+        assertThat(Files.size(smallest) * 10).isLessThan(Files.size(original));
+        assertThat(pipeline.getGeneratedCount()).isEqualTo(3);
+        pipeline.shutdown();
+        LOGGER.info("\n✔ The 160, 320 and 640 px derivatives were generated in the background.");
+    }
+
+    @Test
+    @Order(2)
+    void givenAMissingDerivative_whenResolved_thenItShouldBeGeneratedOnDemandWithoutUpscaling() throws Exception {
+        ThumbnailPipeline pipeline = new ThumbnailPipeline(1, 1);
+        Path original = writeImage("1700000000001.png", 500, 250);
+
+        assertThat(ThumbnailPipeline.closestWidth(300)).isEqualTo(320);
+        assertThat(ThumbnailPipeline.closestWidth(4000)).isEqualTo(640);
+        assertThat(pipeline.resolve(original, 300).path()).isEqualTo(directory.resolve("1700000000001-w320.png"));
+        assertThat(ImageIO.read(directory.resolve("1700000000001-w320.png").toFile()).getHeight()).isEqualTo(160);
+        assertThat(pipeline.resolve(original, 640).path()).isEqualTo(original);
+        assertThat(Files.exists(directory.resolve("1700000000001-w640.png"))).isFalse();
+
+        Path webp = Files.write(directory.resolve("1700000000002.webp"), new byte[16]);
+        assertThat(pipeline.resolve(webp, 160).path()).isEqualTo(webp);
+        assertThat(pipeline.submit(webp)).isFalse();
+        pipeline.shutdown();
+        LOGGER.info("\n✔ The derivative was generated lazily and narrower originals were served as they are.");
+    }
+
+    @Test
+    @Order(3)
+    void givenASaturatedQueue_whenMoreUploadsArrive_thenTheyShouldBeRejectedInsteadOfBlocking() throws Exception {
+        ThumbnailPipeline pipeline = new ThumbnailPipeline(1, 1);
+        Path original = writeImage("1700000000003.jpg", 2400, 1800);
+
+        int accepted = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            if (pipeline.submit(original)) {
+                accepted++;
+            }
+        }
+
+        assertThat(System.nanoTime() - start).isLessThan(2_000_000_000L);
+        assertThat(accepted).isBetween(1, 3);
+        assertThat(pipeline.getRejectedCount()).isEqualTo(10 - accepted);
+        pipeline.shutdown();
+        LOGGER.info("\n✔ {} submissions were accepted and the rest were shed without blocking.", accepted);
+    }
+
+    @Test
+    @Order(4)
+    void givenBusyWorkers_whenADerivativeIsResolved_thenTheOriginalShouldBeServedInsteadOfDecodingInline() throws Exception {
+        ThumbnailPipeline pipeline = new ThumbnailPipeline(1, 4, 1);
+        Path busy = writeImage("1700000000004.jpg", 2400, 1800);
+        Path requested = writeImage("1700000000005.jpg", 2400, 1800);
+
+        assertThat(pipeline.submit(busy)).isTrue();
+        ThumbnailPipeline.Resolved resolved = pipeline.resolve(requested, 160);
+
+        assertThat(resolved.saturated()).isTrue();
+        assertThat(resolved.path()).isEqualTo(requested);
+        assertThat(pipeline.getFallbackCount()).isEqualTo(1);
+        assertThat(pipeline.getPeakDecoding()).isLessThanOrEqualTo(1);
+        pipeline.shutdown();
+        LOGGER.info("\n✔ The original was served while the only worker was busy.");
+    }
+}
@@ -9,9 +9,15 @@ CREATE TABLE PRODUCT
     PRICE       DECIMAL(10, 2) NOT NULL,
     AVAILABLE   BOOLEAN        NOT NULL,
     THUMBNAIL   VARCHAR(255),
-    CATEGORY_ID BIGINT         NOT NULL
+    CATEGORY_ID BIGINT         NOT NULL,
+    VERSION     BIGINT         DEFAULT 0 NOT NULL
 );
 
+CREATE INDEX IF NOT EXISTS IDX_PRODUCT_CATEGORY_PRICE ON PRODUCT (CATEGORY_ID, PRICE);
+CREATE INDEX IF NOT EXISTS IDX_PRODUCT_BRAND_PRICE ON PRODUCT (BRAND, PRICE);
+CREATE INDEX IF NOT EXISTS IDX_PRODUCT_AVAILABLE_PRICE ON PRODUCT (AVAILABLE, PRICE);
+CREATE INDEX IF NOT EXISTS IDX_PRODUCT_PRICE ON PRODUCT (PRICE);
+
 INSERT INTO PRODUCT (NAME, DESCRIPTION, BRAND, PRICE, AVAILABLE, THUMBNAIL, CATEGORY_ID)
 VALUES ('Melódica Fire Hohner C9432174 Red-Black (9432/32)',
         'Desde el funk hasta el reggaeton, los ritmos calientes son una parte importante de la experiencia. Los conjuntos funky condicen con los ritmos apasionados, el baile rápido y las bebidas divertidas. Por supuesto, la melódica no puede solo brindar el telón de fondo con sonido perfecto, también tiene que lucir adecuada para la situación. Con la Fire Melódica, hemos dado a nuestra melódica un nuevo aspecto que volará sus cabezas. Teclas negras y rojas y un cuerpo rojo y brillante con una estructura robusta, hermética y el sonido típico de la melódica. ¡Un diseño robusto para un instrumento caliente!',